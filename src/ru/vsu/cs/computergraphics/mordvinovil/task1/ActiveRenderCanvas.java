@@ -0,0 +1,99 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FrameMetricsJmx;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.MetricsOverlay;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferStrategy;
+
+public class ActiveRenderCanvas extends Canvas implements Runnable {
+    private static final long serialVersionUID = 1L;
+
+    private final World world;
+    private final SimulationLoop simulation;
+    private final FramePacer pacer;
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay();
+    private volatile Thread renderThread;
+
+    public ActiveRenderCanvas(final int ticksPerSecond, final int targetFps) {
+        this.world = new World();
+        this.simulation = new SimulationLoop(world, ticksPerSecond);
+        this.pacer = new FramePacer(targetFps, world.getMetrics());
+        setIgnoreRepaint(true);
+        FrameMetricsJmx.register(world.getMetrics(), "ActiveRenderCanvas");
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    metricsOverlay.toggle();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(2);
+
+        renderThread = new Thread(this, "render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+        simulation.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        Thread stopped = renderThread;
+        renderThread = null;
+        simulation.stop();
+        if (stopped != null) {
+            try {
+                stopped.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        pacer.start();
+
+        while (renderThread == Thread.currentThread()) {
+            pacer.awaitNextFrame();
+            renderFrame(strategy);
+        }
+    }
+
+    private void renderFrame(BufferStrategy strategy) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        simulation.setPanelSize(width, height);
+
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    synchronized (world) {
+                        world.draw(g, simulation.getInterpolationAlpha());
+                    }
+                    metricsOverlay.draw(g, world.getMetrics());
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -1,19 +1,36 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FrameMetricsJmx;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.MetricsOverlay;
 import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
 
 public class DrawPanel extends JPanel implements ActionListener {
     private final Timer timer;
     private final World world;
+    private final SimulationLoop simulation;
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay();
 
-    public DrawPanel(final int timerDelay) {
+    public DrawPanel(final int ticksPerSecond, final int frameDelay) {
         this.world = new World();
-        this.timer = new Timer(timerDelay, this);
-        timer.start();
+        this.simulation = new SimulationLoop(world, ticksPerSecond);
+        this.timer = new Timer(frameDelay, this);
+        FrameMetricsJmx.register(world.getMetrics(), "DrawPanel");
+        bindMetricsToggle();
+    }
+
+    private void bindMetricsToggle() {
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "toggleMetrics");
+        getActionMap().put("toggleMetrics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                metricsOverlay.toggle();
+            }
+        });
     }
 
     @Override
@@ -22,12 +39,16 @@ public class DrawPanel extends JPanel implements ActionListener {
 
         if (getWidth() <= 0 || getHeight() <= 0) return;
 
+        simulation.setPanelSize(getWidth(), getHeight());
+
         Graphics2D g = (Graphics2D) gr;
         setupRenderingHints(g);
 
-        world.update(getWidth(), getHeight());
+        synchronized (world) {
+            world.draw(g, simulation.getInterpolationAlpha());
+        }
 
-        world.draw(g);
+        metricsOverlay.draw(g, world.getMetrics());
     }
 
     @Override
@@ -37,6 +58,20 @@ public class DrawPanel extends JPanel implements ActionListener {
         }
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        timer.start();
+        simulation.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        simulation.stop();
+        super.removeNotify();
+    }
+
     private void setupRenderingHints(Graphics2D g) {
         g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
     }
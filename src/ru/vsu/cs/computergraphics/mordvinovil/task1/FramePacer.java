@@ -0,0 +1,51 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FrameMetrics;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FramePhase;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class FramePacer {
+    private static final long SPIN_THRESHOLD_NANOS = 1_000_000L;
+
+    private final long periodNanos;
+    private final FrameMetrics metrics;
+    private long nextFrameNanos;
+    private long lastFrameNanos;
+
+    public FramePacer(int targetFps, FrameMetrics metrics) {
+        this.periodNanos = 1_000_000_000L / Math.max(targetFps, 1);
+        this.metrics = metrics;
+    }
+
+    public void start() {
+        nextFrameNanos = System.nanoTime();
+        lastFrameNanos = 0;
+    }
+
+    public void awaitNextFrame() {
+        long now = System.nanoTime();
+        while (now < nextFrameNanos) {
+            long remaining = nextFrameNanos - now;
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            now = System.nanoTime();
+        }
+
+        long behind = now - nextFrameNanos;
+        if (behind >= periodNanos) {
+            long skipped = behind / periodNanos;
+            metrics.addSkippedFrames(skipped);
+            nextFrameNanos += skipped * periodNanos;
+        }
+        nextFrameNanos += periodNanos;
+
+        if (lastFrameNanos != 0) {
+            metrics.recordNanos(FramePhase.PRESENT_JITTER, Math.abs(now - lastFrameNanos - periodNanos));
+        }
+        lastFrameNanos = now;
+    }
+}
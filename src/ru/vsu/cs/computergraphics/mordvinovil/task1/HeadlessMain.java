@@ -0,0 +1,94 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.export.FrameWriter;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.export.PngSequenceWriter;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.export.RawVideoWriter;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.BandRenderer;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneFile;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+public class HeadlessMain {
+    private static final int TICKS_PER_SECOND = 10;
+    private static final int RAW_FRAME_BUFFERS = 4;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 4) {
+            System.err.println("Usage: HeadlessMain <width> <height> <frames> <outputDir|file.y4m|file.bgra> [encoderThreads] [seed] [renderThreads]");
+            System.exit(1);
+        }
+
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        int frames = Integer.parseInt(args[2]);
+        File output = new File(args[3]);
+        RawVideoWriter.Format rawFormat = RawVideoWriter.Format.forFile(output);
+        int threads = rawFormat != null ? 1
+            : args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        int renderThreads = args.length > 6 ? Integer.parseInt(args[6]) : 1;
+
+        String resume = System.getProperty("scene.resume");
+        String checkpoint = System.getProperty("scene.checkpoint");
+        World world = resume != null ? SceneFile.load(new File(resume)) : new World(1, seed);
+        ForkJoinPool renderPool = renderThreads > 1 ? new ForkJoinPool(renderThreads) : null;
+        BandRenderer bandRenderer = renderPool != null ? new BandRenderer(renderPool) : null;
+        long simulateNanos = 0;
+        long renderNanos = 0;
+        long wallStart = System.nanoTime();
+
+        FrameWriter writer = rawFormat != null
+            ? new RawVideoWriter(output, rawFormat, width, height, TICKS_PER_SECOND, RAW_FRAME_BUFFERS)
+            : new PngSequenceWriter(output, "frame_", width, height, threads);
+        try {
+            for (int frame = 0; frame < frames; frame++) {
+                long start = System.nanoTime();
+                world.update(width, height);
+                simulateNanos += System.nanoTime() - start;
+
+                BufferedImage image = writer.acquireFrame();
+
+                start = System.nanoTime();
+                Graphics2D g = image.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                if (bandRenderer != null) {
+                    bandRenderer.render(g, width, height, 1f, world);
+                } else {
+                    world.draw(g);
+                }
+                g.dispose();
+                renderNanos += System.nanoTime() - start;
+
+                writer.submit(image, frame);
+            }
+        } finally {
+            writer.close();
+            if (renderPool != null) {
+                renderPool.shutdown();
+            }
+        }
+
+        if (checkpoint != null) {
+            SceneFile.save(world, new File(checkpoint));
+        }
+
+        long wallNanos = System.nanoTime() - wallStart;
+
+        System.out.printf("Frames:   %d (%dx%d, %d encoder threads, %d render threads, seed %d)%n",
+            frames, width, height, threads, renderThreads, world.getSeed());
+        System.out.printf("Simulate: %.1f frames/sec%n", framesPerSecond(frames, simulateNanos));
+        System.out.printf("Render:   %.1f frames/sec%n", framesPerSecond(frames, renderNanos));
+        System.out.printf("Encode:   %.1f frames/sec per thread%n", framesPerSecond(frames, writer.getEncodeNanos()));
+        System.out.printf("Overall:  %.1f frames/sec%n", framesPerSecond(frames, wallNanos));
+    }
+
+    private static double framesPerSecond(int frames, long nanos) {
+        return nanos > 0 ? frames * 1e9 / nanos : 0;
+    }
+}
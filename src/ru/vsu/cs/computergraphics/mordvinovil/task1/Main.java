@@ -4,7 +4,17 @@ import javax.swing.*;
 
 public class Main {
     public static void main(String[] args) {
-        MainWindow window = new MainWindow();
+        boolean activeRendering = false;
+        int targetFps = 60;
+        for (String arg : args) {
+            if ("--active".equals(arg)) {
+                activeRendering = true;
+            } else {
+                targetFps = Integer.parseInt(arg);
+            }
+        }
+
+        MainWindow window = new MainWindow(activeRendering, targetFps);
         window.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         window.setSize(800, 600);
         window.setVisible(true);
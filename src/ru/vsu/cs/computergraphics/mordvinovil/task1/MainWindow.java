@@ -4,11 +4,19 @@ import javax.swing.*;
 import java.awt.*;
 
 public class MainWindow extends JFrame {
-    private final DrawPanel panel;
+    private final Component panel;
 
     public MainWindow() throws HeadlessException {
+        this(false, 60);
+    }
+
+    public MainWindow(boolean activeRendering, int targetFps) throws HeadlessException {
         setSize(800, 600);
-        panel = new DrawPanel(100);
+        if (activeRendering) {
+            panel = new ActiveRenderCanvas(10, targetFps);
+        } else {
+            panel = new DrawPanel(10, 1000 / Math.max(targetFps, 1));
+        }
         this.add(panel);
     }
 }
@@ -1,7 +1,5 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1;
 
-import java.util.Random;
-
 public class Mover {
     public enum MovementType {
         LINEAR_X,
@@ -10,159 +8,101 @@ public class Mover {
         FISH_SWIM
     }
 
-    private int x;
-    private int y;
-    private int startY;
-    private final int startX;
-    private final int speed;
-    private final int amplitude;
-    private int panelHeight;
-    private int panelWidth;
-    private final MovementType movementType;
-    private boolean isMovingRight;
-    private final Random random;
-    private int ticks;
-
-    public Mover(int x, int y, int speed, int amplitude, MovementType movementType) {
-        this(x, y, speed, amplitude, 0, 0, movementType);
-    }
-
-    public Mover(int x, int y, int speed, int amplitude, int panelWidth, int panelHeight, MovementType movementType) {
-        this.x = x;
-        this.y = y;
-        this.startX = x;
-        this.startY = y;
-        this.speed = speed;
-        this.amplitude = amplitude;
-        this.panelWidth = panelWidth;
-        this.panelHeight = panelHeight;
-        this.movementType = movementType;
-        this.isMovingRight = speed > 0;
-        this.random = new Random();
-        this.ticks = 0;
+    private final MoverSystem.Group group;
+    int index;
+
+    Mover(MoverSystem system, int x, int y, int speed, int amplitude, int panelWidth, int panelHeight,
+          MovementType movementType) {
+        this.group = system.group(movementType);
+        this.index = group.add(this, x, y, speed, amplitude, panelWidth, panelHeight);
+    }
+
+    Mover(MoverSystem.Group group, int index) {
+        this.group = group;
+        this.index = index;
     }
 
     public void update() {
-        ticks++;
-        updatePosition();
-        checkBounds();
+        group.advanceTicks(index, index + 1);
+        group.move(index, index + 1, group.randomFor(index));
     }
 
     public void update(int customTicks) {
-        this.ticks = customTicks;
-        updatePosition();
-        checkBounds();
-    }
-
-    private void updatePosition() {
-        switch (movementType) {
-            case LINEAR_X:
-                updateLinearX();
-                break;
-            case SINUSOIDAL_Y:
-                updateSinusoidalY();
-                break;
-            case WAVE:
-                updateWave();
-                break;
-            case FISH_SWIM:
-                updateFishSwim();
-                break;
-        }
-    }
-
-    private void updateLinearX() {
-        x += speed;
-    }
-
-    private void updateSinusoidalY() {
-        x += speed;
-        y = startY + (int)(Math.sin(ticks * 0.1) * amplitude);
-    }
-
-    private void updateWave() {
-        x += speed;
-        double phase = (x + ticks * speed) * 0.05;
-        y = startY + (int)(Math.sin(phase) * amplitude);
-    }
-
-    private void updateFishSwim() {
-        x += speed;
-
-        if (random.nextInt(320) == 0) {
-            double yMovement = (random.nextDouble() - 0.1) * amplitude;
-            y = startY + (int)yMovement;
-        } else if (random.nextInt(50) == 0) {
-            int deltaY = startY - y;
-            y += deltaY / 25;
-        }
-    }
-
-    private void checkBounds() {
-        if (movementType == MovementType.WAVE || movementType == MovementType.SINUSOIDAL_Y ||
-            movementType == MovementType.FISH_SWIM) {
-            if (x > panelWidth + 100) {
-                x = -100;
-            } else if (x < -100) {
-                x = panelWidth + 100;
-            }
-        } else {
-            if (x > panelWidth + 50) {
-                isMovingRight = false;
-            } else if (x < -50) {
-                isMovingRight = true;
-            }
-
-            if (isMovingRight) {
-                x += Math.abs(speed);
-            } else {
-                x -= Math.abs(speed);
-            }
-        }
+        group.setTicks(index, index + 1, customTicks);
+        group.move(index, index + 1, group.randomFor(index));
+    }
+
+    public void release() {
+        if (index < 0) return;
+        group.remove(index);
+        index = -1;
     }
 
     public int getX() {
-        return x;
+        return (int) group.x[index];
     }
 
     public void setX(int x) {
-        this.x = x;
+        group.x[index] = x;
+        group.previousX[index] = x;
     }
 
     public int getY() {
-        return y;
+        return (int) group.y[index];
     }
 
     public void setY(int y) {
-        this.y = y;
+        group.y[index] = y;
+    }
+
+    public double getExactX() {
+        return group.x[index];
+    }
+
+    public double getExactY() {
+        return group.y[index];
+    }
+
+    public double getInterpolatedX(float alpha) {
+        double previousX = group.previousX[index];
+        return previousX + (group.x[index] - previousX) * alpha;
+    }
+
+    public double getInterpolatedY(float alpha) {
+        double previousY = group.previousY[index];
+        return previousY + (group.y[index] - previousY) * alpha;
     }
 
     public int getStartY() {
-        return startY;
+        return (int) group.startY[index];
     }
 
     public void setStartY(int startY) {
-        this.startY = startY;
+        group.startY[index] = startY;
     }
 
     public int getPanelWidth() {
-        return panelWidth;
+        return group.panelWidth[index];
     }
 
     public void setPanelWidth(int panelWidth) {
-        this.panelWidth = panelWidth;
+        group.panelWidth[index] = panelWidth;
     }
 
     public void setPanelDimensions(int width, int height) {
-        this.panelWidth = width;
-        this.panelHeight = height;
+        group.panelWidth[index] = width;
+        group.panelHeight[index] = height;
     }
 
     public boolean isMovingRight() {
-        return isMovingRight;
+        return group.movingRight[index];
     }
 
     public int getStartX() {
-        return startX;
+        return (int) group.startX[index];
+    }
+
+    public MovementType getMovementType() {
+        return group.type;
     }
 }
@@ -0,0 +1,400 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class MoverSystem {
+    static final int CHUNK_SIZE = 2048;
+    private static final int SECTION_GROUP = 0x4D475250;
+    private static final int MOVER_BYTES = 6 * Double.BYTES + 5 * Integer.BYTES + 1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Group[] groups = new Group[Mover.MovementType.values().length];
+    private ForkJoinPool pool;
+
+    public MoverSystem(long seed) {
+        this(new RandomStream(seed));
+    }
+
+    public MoverSystem(RandomStream root) {
+        for (Mover.MovementType type : Mover.MovementType.values()) {
+            groups[type.ordinal()] = new Group(type, root.split());
+        }
+    }
+
+    public void setParallel(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Mover create(int x, int y, int speed, int amplitude, Mover.MovementType movementType) {
+        return create(x, y, speed, amplitude, 0, 0, movementType);
+    }
+
+    public Mover create(int x, int y, int speed, int amplitude, int panelWidth, int panelHeight,
+                        Mover.MovementType movementType) {
+        return new Mover(this, x, y, speed, amplitude, panelWidth, panelHeight, movementType);
+    }
+
+    public void update(Mover.MovementType movementType) {
+        update(groups[movementType.ordinal()], true, 0);
+    }
+
+    public void update(Mover.MovementType movementType, int customTicks) {
+        update(groups[movementType.ordinal()], false, customTicks);
+    }
+
+    private void update(Group group, boolean advanceTicks, int customTicks) {
+        int chunks = (group.count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (pool != null && chunks > 1) {
+            pool.invoke(new ChunkTask(group, 0, chunks, advanceTicks, customTicks));
+        } else {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                group.updateChunk(chunk, advanceTicks, customTicks);
+            }
+        }
+    }
+
+    public void scale(double scaleX, double scaleY) {
+        for (Group group : groups) {
+            group.scale(scaleX, scaleY);
+        }
+    }
+
+    public int size(Mover.MovementType movementType) {
+        return groups[movementType.ordinal()].count;
+    }
+
+    public void write(SceneOutput out) {
+        for (Group group : groups) {
+            group.write(out);
+        }
+    }
+
+    public void read(SceneInput in) {
+        for (Group group : groups) {
+            group.read(in);
+        }
+    }
+
+    public void writeReference(SceneOutput out, Mover mover) {
+        out.writeInt(mover.getMovementType().ordinal());
+        out.writeInt(mover.index);
+    }
+
+    public Mover readReference(SceneInput in) {
+        int type = in.readInt();
+        int index = in.readInt();
+        if (type < 0 || type >= groups.length || index < 0 || index >= groups[type].count) {
+            throw new IllegalStateException("Mover reference " + type + ":" + index + " is out of range");
+        }
+        return groups[type].handles[index];
+    }
+
+    Group group(Mover.MovementType movementType) {
+        return groups[movementType.ordinal()];
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Group group;
+        private final int fromChunk;
+        private final int toChunk;
+        private final boolean advanceTicks;
+        private final int customTicks;
+
+        ChunkTask(Group group, int fromChunk, int toChunk, boolean advanceTicks, int customTicks) {
+            this.group = group;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.advanceTicks = advanceTicks;
+            this.customTicks = customTicks;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                group.updateChunk(fromChunk, advanceTicks, customTicks);
+                return;
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(group, fromChunk, middle, advanceTicks, customTicks),
+                new ChunkTask(group, middle, toChunk, advanceTicks, customTicks));
+        }
+    }
+
+    static final class Group {
+        final Mover.MovementType type;
+        private final RandomStream root;
+        private RandomStream[] chunkRandoms = new RandomStream[0];
+        int count;
+
+        Mover[] handles = new Mover[INITIAL_CAPACITY];
+        double[] x = new double[INITIAL_CAPACITY];
+        double[] y = new double[INITIAL_CAPACITY];
+        double[] previousX = new double[INITIAL_CAPACITY];
+        double[] previousY = new double[INITIAL_CAPACITY];
+        double[] startX = new double[INITIAL_CAPACITY];
+        double[] startY = new double[INITIAL_CAPACITY];
+        int[] speed = new int[INITIAL_CAPACITY];
+        int[] amplitude = new int[INITIAL_CAPACITY];
+        int[] panelWidth = new int[INITIAL_CAPACITY];
+        int[] panelHeight = new int[INITIAL_CAPACITY];
+        int[] ticks = new int[INITIAL_CAPACITY];
+        boolean[] movingRight = new boolean[INITIAL_CAPACITY];
+
+        Group(Mover.MovementType type, RandomStream root) {
+            this.type = type;
+            this.root = root;
+        }
+
+        void updateChunk(int chunk, boolean advance, int customTicks) {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(count, from + CHUNK_SIZE);
+            if (advance) {
+                advanceTicks(from, to);
+            } else {
+                setTicks(from, to, customTicks);
+            }
+            move(from, to, chunkRandoms[chunk]);
+        }
+
+        RandomStream randomFor(int i) {
+            return chunkRandoms[i / CHUNK_SIZE];
+        }
+
+        private void ensureChunkRandoms() {
+            int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if (chunks <= chunkRandoms.length) return;
+
+            int existing = chunkRandoms.length;
+            chunkRandoms = Arrays.copyOf(chunkRandoms, chunks);
+            for (int chunk = existing; chunk < chunks; chunk++) {
+                chunkRandoms[chunk] = root.split();
+            }
+        }
+
+        int add(Mover handle, int x, int y, int speed, int amplitude, int panelWidth, int panelHeight) {
+            if (count == handles.length) {
+                grow(count * 2);
+            }
+
+            int i = count++;
+            this.handles[i] = handle;
+            this.x[i] = x;
+            this.y[i] = y;
+            this.previousX[i] = x;
+            this.previousY[i] = y;
+            this.startX[i] = x;
+            this.startY[i] = y;
+            this.speed[i] = speed;
+            this.amplitude[i] = amplitude;
+            this.panelWidth[i] = panelWidth;
+            this.panelHeight[i] = panelHeight;
+            this.ticks[i] = 0;
+            this.movingRight[i] = speed > 0;
+            ensureChunkRandoms();
+            return i;
+        }
+
+        void remove(int i) {
+            int last = --count;
+            if (i != last) {
+                handles[i] = handles[last];
+                x[i] = x[last];
+                y[i] = y[last];
+                previousX[i] = previousX[last];
+                previousY[i] = previousY[last];
+                startX[i] = startX[last];
+                startY[i] = startY[last];
+                speed[i] = speed[last];
+                amplitude[i] = amplitude[last];
+                panelWidth[i] = panelWidth[last];
+                panelHeight[i] = panelHeight[last];
+                ticks[i] = ticks[last];
+                movingRight[i] = movingRight[last];
+                handles[i].index = i;
+            }
+            handles[last] = null;
+        }
+
+        private void grow(int capacity) {
+            handles = Arrays.copyOf(handles, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            previousX = Arrays.copyOf(previousX, capacity);
+            previousY = Arrays.copyOf(previousY, capacity);
+            startX = Arrays.copyOf(startX, capacity);
+            startY = Arrays.copyOf(startY, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+            amplitude = Arrays.copyOf(amplitude, capacity);
+            panelWidth = Arrays.copyOf(panelWidth, capacity);
+            panelHeight = Arrays.copyOf(panelHeight, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+            movingRight = Arrays.copyOf(movingRight, capacity);
+        }
+
+        void write(SceneOutput out) {
+            out.writeSection(SECTION_GROUP, count);
+            out.writeInt(type.ordinal());
+            out.writeRandom(root);
+            out.writeInt(chunkRandoms.length);
+            for (RandomStream random : chunkRandoms) {
+                out.writeRandom(random);
+            }
+
+            out.writeDoubles(x, count);
+            out.writeDoubles(y, count);
+            out.writeDoubles(previousX, count);
+            out.writeDoubles(previousY, count);
+            out.writeDoubles(startX, count);
+            out.writeDoubles(startY, count);
+            out.writeInts(speed, count);
+            out.writeInts(amplitude, count);
+            out.writeInts(panelWidth, count);
+            out.writeInts(panelHeight, count);
+            out.writeInts(ticks, count);
+            out.writeBooleans(movingRight, count);
+        }
+
+        void read(SceneInput in) {
+            int size = in.readSection(SECTION_GROUP, MOVER_BYTES);
+            if (in.readInt() != type.ordinal()) {
+                throw new IllegalStateException("Mover groups are out of order for " + type);
+            }
+            in.readRandomInto(root);
+            chunkRandoms = new RandomStream[in.readCount(SceneInput.RANDOM_BYTES)];
+            for (int chunk = 0; chunk < chunkRandoms.length; chunk++) {
+                chunkRandoms[chunk] = in.readRandom();
+            }
+
+            Arrays.fill(handles, 0, count, null);
+            if (size > handles.length) {
+                grow(size);
+            }
+            count = size;
+            in.readDoubles(x, count);
+            in.readDoubles(y, count);
+            in.readDoubles(previousX, count);
+            in.readDoubles(previousY, count);
+            in.readDoubles(startX, count);
+            in.readDoubles(startY, count);
+            in.readInts(speed, count);
+            in.readInts(amplitude, count);
+            in.readInts(panelWidth, count);
+            in.readInts(panelHeight, count);
+            in.readInts(ticks, count);
+            in.readBooleans(movingRight, count);
+
+            for (int i = 0; i < count; i++) {
+                handles[i] = new Mover(this, i);
+            }
+            ensureChunkRandoms();
+        }
+
+        void scale(double scaleX, double scaleY) {
+            for (int i = 0; i < count; i++) {
+                x[i] *= scaleX;
+                previousX[i] *= scaleX;
+                startX[i] *= scaleX;
+                y[i] *= scaleY;
+                previousY[i] *= scaleY;
+                startY[i] *= scaleY;
+            }
+        }
+
+        void advanceTicks(int from, int to) {
+            for (int i = from; i < to; i++) {
+                ticks[i]++;
+            }
+        }
+
+        void setTicks(int from, int to, int customTicks) {
+            Arrays.fill(ticks, from, to, customTicks);
+        }
+
+        void move(int from, int to, RandomStream random) {
+            System.arraycopy(x, from, previousX, from, to - from);
+            System.arraycopy(y, from, previousY, from, to - from);
+
+            switch (type) {
+                case LINEAR_X:
+                    moveLinearX(from, to);
+                    break;
+                case SINUSOIDAL_Y:
+                    moveSinusoidalY(from, to);
+                    wrap(from, to);
+                    break;
+                case WAVE:
+                    moveWave(from, to);
+                    wrap(from, to);
+                    break;
+                case FISH_SWIM:
+                    moveFishSwim(from, to, random);
+                    wrap(from, to);
+                    break;
+            }
+        }
+
+        private void moveLinearX(int from, int to) {
+            for (int i = from; i < to; i++) {
+                double newX = x[i] + speed[i];
+
+                if (newX > panelWidth[i] + 50) {
+                    movingRight[i] = false;
+                } else if (newX < -50) {
+                    movingRight[i] = true;
+                }
+
+                int step = Math.abs(speed[i]);
+                x[i] = movingRight[i] ? newX + step : newX - step;
+            }
+        }
+
+        private void moveSinusoidalY(int from, int to) {
+            for (int i = from; i < to; i++) {
+                x[i] += speed[i];
+                y[i] = startY[i] + Math.sin(ticks[i] * 0.1) * amplitude[i];
+            }
+        }
+
+        private void moveWave(int from, int to) {
+            for (int i = from; i < to; i++) {
+                x[i] += speed[i];
+                double phase = (x[i] + ticks[i] * speed[i]) * 0.05;
+                y[i] = startY[i] + Math.sin(phase) * amplitude[i];
+            }
+        }
+
+        private void moveFishSwim(int from, int to, RandomStream random) {
+            for (int i = from; i < to; i++) {
+                x[i] += speed[i];
+
+                if (random.nextInt(320) == 0) {
+                    double yMovement = (random.nextDouble() - 0.1) * amplitude[i];
+                    y[i] = startY[i] + yMovement;
+                } else if (random.nextInt(50) == 0) {
+                    double deltaY = startY[i] - y[i];
+                    y[i] += deltaY / 25;
+                }
+            }
+        }
+
+        private void wrap(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (x[i] > panelWidth[i] + 100) {
+                    x[i] = -100;
+                    previousX[i] = x[i];
+                } else if (x[i] < -100) {
+                    x[i] = panelWidth[i] + 100;
+                    previousX[i] = x[i];
+                }
+            }
+        }
+    }
+}
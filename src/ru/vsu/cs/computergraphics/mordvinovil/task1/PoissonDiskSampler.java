@@ -0,0 +1,210 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+import java.util.Arrays;
+
+public class PoissonDiskSampler {
+    private static final int CANDIDATES = 30;
+    private static final double PACKING_DENSITY = 0.55;
+    private static final double LINE_PACKING_DENSITY = 0.6;
+
+    private final RandomStream random;
+
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private int[] active = new int[16];
+    private int[] grid = new int[0];
+    private int count;
+
+    public PoissonDiskSampler(RandomStream random) {
+        this.random = random;
+    }
+
+    public static double spacingFor(int width, int height, int points, double maxSpacing) {
+        if (points <= 0) return maxSpacing;
+        double spacing = Math.sqrt((double) width * height * PACKING_DENSITY / points);
+        return Math.max(1, Math.min(maxSpacing, spacing));
+    }
+
+    public static double spacingForLine(int width, int points, double maxSpacing) {
+        if (points <= 0) return maxSpacing;
+        double spacing = width * LINE_PACKING_DENSITY / points;
+        return Math.max(1, Math.min(maxSpacing, spacing));
+    }
+
+    public int sample(int minX, int minY, int width, int height, double minDistance, int maxPoints) {
+        count = 0;
+        if (width <= 0 || height <= 0 || maxPoints <= 0) return 0;
+
+        double cellSize = minDistance / Math.sqrt(2);
+        int columns = (int) Math.ceil(width / cellSize);
+        int rows = (int) Math.ceil(height / cellSize);
+        if (grid.length < columns * rows) {
+            grid = new int[columns * rows];
+        }
+        Arrays.fill(grid, 0, columns * rows, -1);
+
+        double minDistanceSquared = minDistance * minDistance;
+        int activeCount = 0;
+
+        add(random.nextDouble() * width, random.nextDouble() * height, cellSize, columns);
+        active[activeCount++] = 0;
+
+        while (activeCount > 0) {
+            int slot = random.nextInt(activeCount);
+            int parent = active[slot];
+            boolean placed = false;
+
+            for (int attempt = 0; attempt < CANDIDATES; attempt++) {
+                double angle = random.nextDouble() * Math.PI * 2;
+                double radius = minDistance * (1 + random.nextDouble());
+                double x = xs[parent] + Math.cos(angle) * radius;
+                double y = ys[parent] + Math.sin(angle) * radius;
+
+                if (x < 0 || y < 0 || x >= width || y >= height) continue;
+                if (!isFarEnough(x, y, cellSize, columns, rows, minDistanceSquared)) continue;
+
+                if (active.length == activeCount) {
+                    active = Arrays.copyOf(active, activeCount * 2);
+                }
+                active[activeCount++] = count;
+                add(x, y, cellSize, columns);
+                placed = true;
+                break;
+            }
+
+            if (!placed) {
+                active[slot] = active[--activeCount];
+            }
+        }
+
+        return select(minX, minY, maxPoints);
+    }
+
+    public int sampleLine(int minX, int width, double minDistance, int maxPoints) {
+        count = 0;
+        if (width <= 0 || maxPoints <= 0) return 0;
+
+        int columns = (int) Math.ceil(width / minDistance);
+        if (grid.length < columns) {
+            grid = new int[columns];
+        }
+        Arrays.fill(grid, 0, columns, -1);
+
+        int activeCount = 0;
+
+        add(random.nextDouble() * width, 0, minDistance, columns);
+        active[activeCount++] = 0;
+
+        while (activeCount > 0) {
+            int slot = random.nextInt(activeCount);
+            int parent = active[slot];
+            boolean placed = false;
+
+            for (int attempt = 0; attempt < CANDIDATES; attempt++) {
+                double offset = minDistance * (1 + random.nextDouble());
+                double x = xs[parent] + (random.nextInt(2) == 0 ? -offset : offset);
+
+                if (x < 0 || x >= width) continue;
+                if (!isFarEnoughOnLine(x, minDistance, columns)) continue;
+
+                if (active.length == activeCount) {
+                    active = Arrays.copyOf(active, activeCount * 2);
+                }
+                active[activeCount++] = count;
+                add(x, 0, minDistance, columns);
+                placed = true;
+                break;
+            }
+
+            if (!placed) {
+                active[slot] = active[--activeCount];
+            }
+        }
+
+        return select(minX, 0, maxPoints);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getX(int index) {
+        return (int) xs[index];
+    }
+
+    public int getY(int index) {
+        return (int) ys[index];
+    }
+
+    private boolean isFarEnough(double x, double y, double cellSize, int columns, int rows,
+                                double minDistanceSquared) {
+        int column = (int) (x / cellSize);
+        int row = (int) (y / cellSize);
+        int fromColumn = Math.max(column - 2, 0);
+        int toColumn = Math.min(column + 2, columns - 1);
+        int fromRow = Math.max(row - 2, 0);
+        int toRow = Math.min(row + 2, rows - 1);
+
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromColumn; c <= toColumn; c++) {
+                int neighbour = grid[r * columns + c];
+                if (neighbour < 0) continue;
+
+                double dx = xs[neighbour] - x;
+                double dy = ys[neighbour] - y;
+                if (dx * dx + dy * dy < minDistanceSquared) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isFarEnoughOnLine(double x, double minDistance, int columns) {
+        int column = (int) (x / minDistance);
+        int fromColumn = Math.max(column - 1, 0);
+        int toColumn = Math.min(column + 1, columns - 1);
+
+        for (int c = fromColumn; c <= toColumn; c++) {
+            int neighbour = grid[c];
+            if (neighbour >= 0 && Math.abs(xs[neighbour] - x) < minDistance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int select(int minX, int minY, int maxPoints) {
+        int selected = Math.min(maxPoints, count);
+        for (int i = 0; i < selected; i++) {
+            int j = i + random.nextInt(count - i);
+            swap(i, j);
+        }
+        for (int i = 0; i < selected; i++) {
+            xs[i] += minX;
+            ys[i] += minY;
+        }
+        count = selected;
+        return count;
+    }
+
+    private void add(double x, double y, double cellSize, int columns) {
+        if (xs.length == count) {
+            xs = Arrays.copyOf(xs, count * 2);
+            ys = Arrays.copyOf(ys, count * 2);
+        }
+        xs[count] = x;
+        ys[count] = y;
+        grid[(int) (y / cellSize) * columns + (int) (x / cellSize)] = count;
+        count++;
+    }
+
+    private void swap(int i, int j) {
+        double x = xs[i];
+        double y = ys[i];
+        xs[i] = xs[j];
+        ys[i] = ys[j];
+        xs[j] = x;
+        ys[j] = y;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+public final class RandomStream {
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public RandomStream(long seed) {
+        long z = seed;
+        s0 = splitMix(z += 0x9E3779B97F4A7C15L);
+        s1 = splitMix(z += 0x9E3779B97F4A7C15L);
+        s2 = splitMix(z += 0x9E3779B97F4A7C15L);
+        s3 = splitMix(z + 0x9E3779B97F4A7C15L);
+    }
+
+    public static RandomStream fromTime() {
+        return new RandomStream(System.nanoTime() ^ System.currentTimeMillis() << 20);
+    }
+
+    public RandomStream split() {
+        return new RandomStream(nextLong());
+    }
+
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    public long[] getState() {
+        return new long[]{s0, s1, s2, s3};
+    }
+
+    public void setState(long[] state) {
+        if (state.length != 4) {
+            throw new IllegalArgumentException("state must hold 4 longs");
+        }
+        s0 = state[0];
+        s1 = state[1];
+        s2 = state[2];
+        s3 = state[3];
+    }
+
+    private static long splitMix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
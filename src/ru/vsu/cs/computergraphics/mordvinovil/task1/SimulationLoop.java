@@ -0,0 +1,84 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class SimulationLoop implements Runnable {
+    private static final int MAX_TICKS_PER_STEP = 5;
+
+    private final World world;
+    private final long tickNanos;
+
+    private volatile Thread thread;
+    private volatile int width;
+    private volatile int height;
+    private volatile long lastTickNanos;
+
+    public SimulationLoop(World world, int ticksPerSecond) {
+        this.world = world;
+        this.tickNanos = 1_000_000_000L / Math.max(ticksPerSecond, 1);
+    }
+
+    public synchronized void start() {
+        if (thread != null) return;
+
+        lastTickNanos = System.nanoTime();
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread stopped = thread;
+        if (stopped == null) return;
+
+        thread = null;
+        LockSupport.unpark(stopped);
+    }
+
+    public void setPanelSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public float getInterpolationAlpha() {
+        float alpha = (float) (System.nanoTime() - lastTickNanos) / tickNanos;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime();
+
+        while (thread == Thread.currentThread()) {
+            long now = System.nanoTime();
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);
+                continue;
+            }
+
+            int ticks = 0;
+            while (now >= nextTick && ticks < MAX_TICKS_PER_STEP) {
+                tick();
+                nextTick += tickNanos;
+                ticks++;
+            }
+
+            if (now >= nextTick) {
+                nextTick = now + tickNanos;
+            }
+        }
+    }
+
+    private void tick() {
+        int currentWidth = width;
+        int currentHeight = height;
+        if (currentWidth <= 0 || currentHeight <= 0) return;
+
+        synchronized (world) {
+            world.update(currentWidth, currentHeight);
+        }
+        lastTickNanos = System.nanoTime();
+    }
+}
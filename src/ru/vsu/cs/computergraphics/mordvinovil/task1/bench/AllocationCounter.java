@@ -0,0 +1,47 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.bench;
+
+import java.lang.management.ManagementFactory;
+
+final class AllocationCounter {
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final long threadId;
+    private long[] otherThreadIds = new long[0];
+    private long[] otherThreadBytes = new long[0];
+    private long ownBytes;
+
+    AllocationCounter() {
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.threadId = Thread.currentThread().getId();
+    }
+
+    void start() {
+        otherThreadIds = threadBean.getAllThreadIds();
+        otherThreadBytes = threadBean.getThreadAllocatedBytes(otherThreadIds);
+        ownBytes = threadBean.getThreadAllocatedBytes(threadId);
+    }
+
+    long stop() {
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - ownBytes;
+        return allocated + otherThreadsAllocatedSinceStart();
+    }
+
+    private long otherThreadsAllocatedSinceStart() {
+        long[] ids = threadBean.getAllThreadIds();
+        long[] bytes = threadBean.getThreadAllocatedBytes(ids);
+
+        long allocated = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == threadId || bytes[i] < 0) continue;
+
+            long before = 0;
+            for (int j = 0; j < otherThreadIds.length; j++) {
+                if (otherThreadIds[j] == ids[i]) {
+                    before = Math.max(otherThreadBytes[j], 0);
+                    break;
+                }
+            }
+            allocated += bytes[i] - before;
+        }
+        return allocated;
+    }
+}
@@ -0,0 +1,124 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.bench;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.BandRenderer;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+
+public class BandConsistencyCheck {
+    private final World serialWorld;
+    private final World bandedWorld;
+    private final BandRenderer bandRenderer;
+    private final int width;
+    private final int height;
+    private final Rectangle differingBounds = new Rectangle();
+    private long framesDiffering;
+    private long pixelsDiffering;
+    private long firstDifferingFrame = -1;
+
+    public BandConsistencyCheck(long seed, int populationScale, int width, int height, BandRenderer bandRenderer) {
+        this.serialWorld = new World(populationScale, seed);
+        this.bandedWorld = new World(populationScale, seed);
+        this.bandRenderer = bandRenderer;
+        this.width = width;
+        this.height = height;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 3) {
+            System.err.println("Usage: BandConsistencyCheck <width> <height> <frames> [renderThreads] [seed] [populationScale]");
+            System.exit(1);
+        }
+
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        int frames = Integer.parseInt(args[2]);
+        int renderThreads = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        int populationScale = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+
+        ForkJoinPool pool = new ForkJoinPool(renderThreads);
+        try {
+            BandConsistencyCheck check = new BandConsistencyCheck(seed, populationScale, width, height,
+                new BandRenderer(pool));
+            check.run(frames);
+            check.printReport(frames, renderThreads, seed);
+            System.exit(check.isConsistent() ? 0 : 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void run(int frames) {
+        BufferedImage serial = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        BufferedImage banded = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        for (int frame = 0; frame < frames; frame++) {
+            serialWorld.update(width, height);
+            bandedWorld.update(width, height);
+
+            Graphics2D g = createGraphics(serial);
+            serialWorld.draw(g);
+            g.dispose();
+
+            g = createGraphics(banded);
+            bandRenderer.render(g, width, height, 1f, bandedWorld);
+            g.dispose();
+
+            compare(frame, serial, banded);
+        }
+    }
+
+    public boolean isConsistent() {
+        return framesDiffering == 0;
+    }
+
+    public void printReport(int frames, int renderThreads, long seed) {
+        System.out.printf("Frames:   %d (%dx%d, %d render threads, %d bands, seed %d)%n",
+            frames, width, height, renderThreads, bandRenderer.getBandCount(), seed);
+        if (isConsistent()) {
+            System.out.println("Result:   banded output matches serial output");
+        } else {
+            System.out.printf("Result:   %d frames differ, %d pixels, first at frame %d, rows %d..%d%n",
+                framesDiffering, pixelsDiffering, firstDifferingFrame,
+                differingBounds.y, differingBounds.y + differingBounds.height - 1);
+        }
+    }
+
+    private void compare(int frame, BufferedImage serial, BufferedImage banded) {
+        int[] expected = ((DataBufferInt) serial.getRaster().getDataBuffer()).getData();
+        int[] actual = ((DataBufferInt) banded.getRaster().getDataBuffer()).getData();
+
+        long differing = 0;
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] != actual[i]) {
+                differing++;
+                Rectangle pixel = new Rectangle(i % width, i / width, 1, 1);
+                if (differingBounds.isEmpty()) {
+                    differingBounds.setBounds(pixel);
+                } else {
+                    differingBounds.add(pixel);
+                }
+            }
+        }
+
+        if (differing > 0) {
+            framesDiffering++;
+            pixelsDiffering += differing;
+            if (firstDifferingFrame < 0) {
+                firstDifferingFrame = frame;
+            }
+        }
+    }
+
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+public class BenchmarkRunner {
+    private static final long TARGET_BATCH_NANOS = 1_000_000L;
+    private static final int MAX_BATCH_SIZE = 1 << 20;
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final String filter;
+
+    public BenchmarkRunner(long warmupMillis, long measureMillis, String filter) {
+        this.warmupNanos = warmupMillis * 1_000_000L;
+        this.measureNanos = measureMillis * 1_000_000L;
+        this.filter = filter;
+    }
+
+    public interface Operation {
+        void run();
+    }
+
+    public void printHeader() {
+        System.out.printf("%-48s %14s %14s %12s %8s %10s%n",
+            "Benchmark", "ns/op", "B/op", "MB/sec", "gc.count", "gc.ms");
+    }
+
+    public void run(String name, Operation operation) {
+        if (filter != null && !name.contains(filter)) return;
+
+        runFor(operation, warmupNanos);
+
+        AllocationCounter counter = new AllocationCounter();
+        long gcCountBefore = totalGcCount();
+        long gcTimeBefore = totalGcTime();
+        counter.start();
+        long start = System.nanoTime();
+
+        long operations = runFor(operation, measureNanos);
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = counter.stop();
+        long gcCount = totalGcCount() - gcCountBefore;
+        long gcTime = totalGcTime() - gcTimeBefore;
+
+        System.out.printf("%-48s %14.1f %14.1f %12.1f %8d %10d%n",
+            name,
+            (double) elapsed / operations,
+            (double) allocated / operations,
+            allocated / (elapsed / 1e9) / (1024 * 1024),
+            gcCount,
+            gcTime);
+    }
+
+    private long runFor(Operation operation, long nanos) {
+        long operations = 0;
+        int batchSize = 1;
+        long now = System.nanoTime();
+        long deadline = now + nanos;
+        do {
+            long batchStart = now;
+            for (int i = 0; i < batchSize; i++) {
+                operation.run();
+            }
+            operations += batchSize;
+            now = System.nanoTime();
+
+            if (now - batchStart < TARGET_BATCH_NANOS && batchSize < MAX_BATCH_SIZE) {
+                batchSize *= 2;
+            }
+        } while (now < deadline);
+        return operations;
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long totalGcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,191 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.bench;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.Fish;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.Seaweed;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.SeaweedBed;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.Ship;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.Wave;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleEmitter;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleType;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.BandRenderer;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneFile;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+public class Benchmarks {
+    private static final int[][] PANEL_SIZES = {{640, 480}, {1280, 720}, {1920, 1080}};
+    private static final int[] POPULATION_SCALES = {1, 10};
+    private static final int[] MOVER_SYSTEM_SIZES = {1_000, 100_000};
+    private static final long BENCHMARK_SEED = 20240101L;
+    private static final int PARTICLE_EMITTERS = 300;
+    private static final int SEAWEED_COUNT = 500;
+    private static final int PARTICLE_CAPACITY = 65536;
+    private static final int SCENE_POPULATION_SCALE = 100;
+    private static final int PARALLEL_POPULATION_SCALE = 100;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        String filter = args.length > 0 ? args[0] : null;
+        long warmupMillis = Long.getLong("bench.warmup", 1000);
+        long measureMillis = Long.getLong("bench.measure", 2000);
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmupMillis, measureMillis, filter);
+        runner.printHeader();
+
+        benchmarkMovers(runner);
+        benchmarkWorld(runner);
+        benchmarkModels(runner);
+        benchmarkScene(runner);
+    }
+
+    private static void benchmarkMovers(BenchmarkRunner runner) {
+        for (Mover.MovementType type : Mover.MovementType.values()) {
+            Mover mover = new MoverSystem(BENCHMARK_SEED).create(100, 300, 2, 10, 800, 600, type);
+            runner.run("Mover.update " + type, mover::update);
+        }
+
+        for (int size : MOVER_SYSTEM_SIZES) {
+            for (Mover.MovementType type : Mover.MovementType.values()) {
+                MoverSystem movers = new MoverSystem(BENCHMARK_SEED);
+                for (int i = 0; i < size; i++) {
+                    movers.create(i % 800, 300, 1 + i % 3, 10, 800, 600, type);
+                }
+                runner.run("MoverSystem.update " + type + " n=" + size, () -> movers.update(type));
+
+                MoverSystem parallelMovers = new MoverSystem(BENCHMARK_SEED);
+                parallelMovers.setParallel(ForkJoinPool.commonPool());
+                for (int i = 0; i < size; i++) {
+                    parallelMovers.create(i % 800, 300, 1 + i % 3, 10, 800, 600, type);
+                }
+                runner.run("MoverSystem.update parallel " + type + " n=" + size,
+                    () -> parallelMovers.update(type));
+            }
+        }
+    }
+
+    private static void benchmarkWorld(BenchmarkRunner runner) {
+        for (int[] size : PANEL_SIZES) {
+            for (int scale : POPULATION_SCALES) {
+                String suffix = " " + size[0] + "x" + size[1] + " x" + scale;
+                int width = size[0];
+                int height = size[1];
+
+                World updated = new World(scale, BENCHMARK_SEED);
+                runner.run("World.update" + suffix, () -> updated.update(width, height));
+
+                World parallelUpdated = new World(scale, BENCHMARK_SEED);
+                parallelUpdated.setParallelUpdate(true);
+                runner.run("World.update parallel" + suffix, () -> parallelUpdated.update(width, height));
+
+                World drawn = new World(scale, BENCHMARK_SEED);
+                drawn.update(width, height);
+                BufferedImage image = createImage(width, height);
+                Graphics2D g = createGraphics(image);
+                runner.run("World.draw" + suffix, () -> drawn.draw(g));
+
+                BandRenderer bands = new BandRenderer(ForkJoinPool.commonPool());
+                runner.run("World.draw banded" + suffix, () -> bands.render(g, width, height, 1f, drawn));
+                g.dispose();
+            }
+        }
+
+        String suffix = " 1280x720 x" + PARALLEL_POPULATION_SCALE;
+        World crowded = new World(PARALLEL_POPULATION_SCALE, BENCHMARK_SEED);
+        runner.run("World.update" + suffix, () -> crowded.update(1280, 720));
+
+        World parallelCrowded = new World(PARALLEL_POPULATION_SCALE, BENCHMARK_SEED);
+        parallelCrowded.setParallelUpdate(true);
+        runner.run("World.update parallel" + suffix, () -> parallelCrowded.update(1280, 720));
+    }
+
+    private static void benchmarkModels(BenchmarkRunner runner) {
+        BufferedImage image = createImage(800, 600);
+        Graphics2D g = createGraphics(image);
+
+        RandomStream random = new RandomStream(BENCHMARK_SEED);
+        MoverSystem movers = new MoverSystem(random.split());
+
+        Wave wave = new Wave(movers, random.split(), -800, 300, 2400, 11, 2);
+        wave.setPanelWidth(2400);
+        runner.run("Wave.draw", () -> wave.draw(g));
+
+        Fish fish = new Fish(movers, random.split(), 100, 500, 24, 9, 1);
+        runner.run("Fish.draw", () -> fish.draw(g));
+
+        Ship ship = new Ship(movers, random.split(), 75, 200, 500, 50, Color.BLUE, Color.WHITE, Color.YELLOW, 2);
+        ship.setPanelWidth(800);
+        ParticleSystem shipParticles = new ParticleSystem(random.split(), 4096);
+        runner.run("Ship.updateSmoke", () -> {
+            ship.updateSmoke(shipParticles);
+            shipParticles.update();
+        });
+
+        ParticleSystem particles = new ParticleSystem(random.split(), PARTICLE_CAPACITY);
+        ParticleEmitter[] emitters = new ParticleEmitter[PARTICLE_EMITTERS];
+        ParticleType[] types = ParticleType.values();
+        for (int i = 0; i < emitters.length; i++) {
+            emitters[i] = new ParticleEmitter(types[i % types.length], 1, 4, random.split());
+        }
+        runner.run("ParticleSystem.update emitters=" + PARTICLE_EMITTERS, () -> {
+            for (int i = 0; i < emitters.length; i++) {
+                emitters[i].emit(particles, (i * 7) % 800, 300 + i % 200, 20);
+            }
+            particles.update();
+        });
+        runner.run("ParticleSystem.draw", () -> {
+            for (ParticleType type : types) {
+                particles.draw(g, type);
+            }
+        });
+
+        SeaweedBed seaweeds = new SeaweedBed();
+        for (int i = 0; i < SEAWEED_COUNT; i++) {
+            seaweeds.add(new Seaweed(random.split(), (i * 13) % 800, 30 + i % 50));
+        }
+        int[] frame = {0};
+        runner.run("SeaweedBed.draw n=" + SEAWEED_COUNT, () -> {
+            seaweeds.prepare(560, frame[0]++);
+            seaweeds.draw(g);
+        });
+
+        g.dispose();
+    }
+
+    private static void benchmarkScene(BenchmarkRunner runner) {
+        World world = new World(SCENE_POPULATION_SCALE, BENCHMARK_SEED);
+        world.update(1280, 720);
+        String suffix = " x" + SCENE_POPULATION_SCALE;
+        runner.run("SceneFile.checkpoint" + suffix, () -> SceneFile.checkpoint(world));
+
+        ByteBuffer checkpoint = SceneFile.checkpoint(world);
+        World restored = new World(1, BENCHMARK_SEED);
+        runner.run("SceneFile.restore" + suffix, () -> {
+            try {
+                SceneFile.restore(restored, checkpoint);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static BufferedImage createImage(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g;
+    }
+}
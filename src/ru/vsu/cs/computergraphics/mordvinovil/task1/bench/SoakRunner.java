@@ -0,0 +1,152 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.bench;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.LatencyHistogram;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SoakRunner implements NotificationListener {
+    private final World world;
+    private final int width;
+    private final int height;
+    private final long budgetBytes;
+    private final LatencyHistogram allocations = new LatencyHistogram();
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram gcTimes = new LatencyHistogram();
+    private final AtomicLong gcMillis = new AtomicLong();
+    private long allocatedBytes;
+    private long framesOverBudget;
+    private long worstFrame = -1;
+    private long worstAllocated;
+
+    public SoakRunner(World world, int width, int height, long budgetBytes) {
+        this.world = world;
+        this.width = width;
+        this.height = height;
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 4) {
+            System.err.println("Usage: SoakRunner <width> <height> <frames> <budgetBytesPerFrame> [warmupFrames] [seed] [populationScale]");
+            System.exit(1);
+        }
+
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        int frames = Integer.parseInt(args[2]);
+        long budget = Long.parseLong(args[3]);
+        int warmup = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        int populationScale = args.length > 6 ? Integer.parseInt(args[6]) : 1;
+
+        SoakRunner runner = new SoakRunner(new World(populationScale, seed), width, height, budget);
+        runner.run(warmup, frames);
+        runner.printReport();
+        System.exit(runner.isWithinBudget() ? 0 : 2);
+    }
+
+    public void run(int warmupFrames, int frames) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        AllocationCounter counter = new AllocationCounter();
+
+        for (int frame = 0; frame < warmupFrames; frame++) {
+            renderFrame(image);
+        }
+
+        listen(true);
+        try {
+            for (int frame = 0; frame < frames; frame++) {
+                counter.start();
+                long start = System.nanoTime();
+
+                renderFrame(image);
+
+                long elapsed = System.nanoTime() - start;
+                long allocated = counter.stop();
+                allocations.record(allocated);
+                frameTimes.record(elapsed);
+                allocatedBytes += allocated;
+                if (allocated > worstAllocated) {
+                    worstAllocated = allocated;
+                    worstFrame = frame;
+                }
+                if (allocated > budgetBytes) {
+                    framesOverBudget++;
+                }
+            }
+        } finally {
+            listen(false);
+        }
+    }
+
+    public boolean isWithinBudget() {
+        return framesOverBudget == 0;
+    }
+
+    public void printReport() {
+        long frames = allocations.getCount();
+        System.out.printf("Frames:     %d (%dx%d, seed %d)%n", frames, width, height, world.getSeed());
+        System.out.printf("Frame time: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            frameTimes.getPercentile(50) / 1e6, frameTimes.getPercentile(99) / 1e6, frameTimes.getMax() / 1e6);
+        System.out.printf("Allocated:  mean %.0f B, p50 %d B, p99 %d B, max %d B per frame%n",
+            frames > 0 ? (double) allocatedBytes / frames : 0,
+            allocations.getPercentile(50), allocations.getPercentile(99), allocations.getMax());
+        System.out.printf("GC time:    %d collections, total %d ms, p99 %d ms, max %d ms%n",
+            gcTimes.getCount(), gcMillis.get(), gcTimes.getPercentile(99), gcTimes.getMax());
+        if (isWithinBudget()) {
+            System.out.printf("Budget:     %d B per frame, OK%n", budgetBytes);
+        } else {
+            System.out.printf("Budget:     %d B per frame, EXCEEDED by %d frames (worst at frame %d)%n",
+                budgetBytes, framesOverBudget, worstFrame);
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long duration = info.getGcInfo().getDuration();
+        gcTimes.record(duration);
+        gcMillis.addAndGet(duration);
+    }
+
+    private void renderFrame(BufferedImage image) {
+        world.update(width, height);
+
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        world.draw(g);
+        g.dispose();
+    }
+
+    private void listen(boolean enabled) {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter)) continue;
+
+            NotificationEmitter emitter = (NotificationEmitter) gc;
+            if (enabled) {
+                emitter.addNotificationListener(this, null, null);
+            } else {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.export;
+
+import java.awt.image.BufferedImage;
+
+public interface FrameWriter {
+    BufferedImage acquireFrame() throws InterruptedException;
+
+    void submit(BufferedImage frame, int frameNumber) throws InterruptedException;
+
+    long getEncodeNanos();
+
+    void close() throws InterruptedException;
+}
@@ -0,0 +1,81 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.export;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PngSequenceWriter implements FrameWriter {
+    private final File outputDir;
+    private final String prefix;
+    private final ExecutorService encoders;
+    private final BlockingQueue<BufferedImage> freeFrames;
+    private final AtomicLong encodeNanos = new AtomicLong();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+    public PngSequenceWriter(File outputDir, String prefix, int width, int height, int threads) throws IOException {
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create output directory " + outputDir);
+        }
+        this.outputDir = outputDir;
+        this.prefix = prefix;
+        this.encoders = Executors.newFixedThreadPool(Math.max(threads, 1));
+
+        int bufferCount = Math.max(threads, 1) * 2 + 1;
+        this.freeFrames = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            freeFrames.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+        }
+    }
+
+    @Override
+    public BufferedImage acquireFrame() throws InterruptedException {
+        checkFailure();
+        return freeFrames.take();
+    }
+
+    @Override
+    public void submit(BufferedImage frame, int frameNumber) {
+        File file = new File(outputDir, String.format("%s%06d.png", prefix, frameNumber));
+        encoders.execute(() -> encode(frame, file));
+    }
+
+    private void encode(BufferedImage frame, File file) {
+        long start = System.nanoTime();
+        try {
+            ImageIO.write(frame, "png", file);
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            encodeNanos.addAndGet(System.nanoTime() - start);
+            freeFrames.add(frame);
+        }
+    }
+
+    private void checkFailure() {
+        IOException e = failure.get();
+        if (e != null) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long getEncodeNanos() {
+        return encodeNanos.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        encoders.shutdown();
+        encoders.awaitTermination(1, TimeUnit.HOURS);
+        checkFailure();
+    }
+}
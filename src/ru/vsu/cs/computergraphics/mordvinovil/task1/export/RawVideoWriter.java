@@ -0,0 +1,222 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.export;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RawVideoWriter implements FrameWriter {
+    private static final long WINDOW_BYTES = 64L << 20;
+    private static final byte[] FRAME_MARKER = "FRAME\n".getBytes(StandardCharsets.US_ASCII);
+    private static final BufferedImage END_OF_STREAM = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+    public enum Format {
+        Y4M(".y4m"),
+        BGRA(".bgra");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public static Format forFile(File file) {
+            String name = file.getName().toLowerCase();
+            for (Format format : values()) {
+                if (name.endsWith(format.extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Format format;
+    private final int width;
+    private final int height;
+    private final FileChannel channel;
+    private final long frameBytes;
+    private final long windowBytes;
+    private final BlockingQueue<BufferedImage> freeFrames;
+    private final BlockingQueue<BufferedImage> pendingFrames;
+    private final Thread writer;
+    private final int[] row;
+    private final AtomicLong encodeNanos = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private MappedByteBuffer window;
+    private IntBuffer windowInts;
+    private long windowPosition;
+    private long position;
+
+    public RawVideoWriter(File file, Format format, int width, int height, int framesPerSecond, int bufferCount)
+        throws IOException {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.row = new int[width];
+
+        long pixels = (long) width * height;
+        this.frameBytes = format == Format.Y4M ? FRAME_MARKER.length + pixels * 3 : pixels * 4;
+        if (frameBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Frame of " + width + "x" + height + " is too large to map");
+        }
+        this.windowBytes = Math.max(WINDOW_BYTES / frameBytes, 1) * frameBytes;
+
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (format == Format.Y4M) {
+            String header = String.format("YUV4MPEG2 W%d H%d F%d:1 Ip A1:1 C444\n", width, height,
+                Math.max(framesPerSecond, 1));
+            position = channel.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.US_ASCII)), 0);
+        }
+
+        int frames = Math.max(bufferCount, 1);
+        this.freeFrames = new ArrayBlockingQueue<>(frames);
+        this.pendingFrames = new ArrayBlockingQueue<>(frames + 1);
+        for (int i = 0; i < frames; i++) {
+            freeFrames.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+        }
+
+        this.writer = new Thread(this::run, "raw-frame-writer");
+        writer.start();
+    }
+
+    @Override
+    public BufferedImage acquireFrame() throws InterruptedException {
+        checkFailure();
+        return freeFrames.take();
+    }
+
+    @Override
+    public void submit(BufferedImage frame, int frameNumber) throws InterruptedException {
+        checkFailure();
+        pendingFrames.put(frame);
+    }
+
+    @Override
+    public long getEncodeNanos() {
+        return encodeNanos.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        pendingFrames.put(END_OF_STREAM);
+        writer.join();
+
+        try {
+            if (window != null) {
+                window.force();
+                window = null;
+                windowInts = null;
+            }
+            channel.truncate(position);
+            channel.close();
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+        checkFailure();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                BufferedImage frame = pendingFrames.take();
+                if (frame == END_OF_STREAM) return;
+
+                long start = System.nanoTime();
+                try {
+                    if (failure.get() == null) {
+                        write(frame);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    encodeNanos.addAndGet(System.nanoTime() - start);
+                    freeFrames.add(frame);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(BufferedImage frame) throws IOException {
+        int[] pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        int offset = reserve();
+
+        if (format == Format.Y4M) {
+            writeY4m(pixels, offset);
+        } else {
+            writeBgra(pixels, offset);
+        }
+    }
+
+    private void writeY4m(int[] pixels, int offset) {
+        window.position(offset);
+        window.put(FRAME_MARKER);
+
+        int plane = width * height;
+        int yPlane = offset + FRAME_MARKER.length;
+        int uPlane = yPlane + plane;
+        int vPlane = uPlane + plane;
+        for (int i = 0; i < plane; i++) {
+            int rgb = pixels[i];
+            int r = rgb >> 16 & 0xFF;
+            int g = rgb >> 8 & 0xFF;
+            int b = rgb & 0xFF;
+            window.put(yPlane + i, (byte) (((66 * r + 129 * g + 25 * b + 128) >> 8) + 16));
+            window.put(uPlane + i, (byte) (((-38 * r - 74 * g + 112 * b + 128) >> 8) + 128));
+            window.put(vPlane + i, (byte) (((112 * r - 94 * g - 18 * b + 128) >> 8) + 128));
+        }
+    }
+
+    private void writeBgra(int[] pixels, int offset) {
+        windowInts.position(offset / 4);
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * width;
+            for (int x = 0; x < width; x++) {
+                row[x] = pixels[rowStart + x] | 0xFF000000;
+            }
+            windowInts.put(row);
+        }
+    }
+
+    private int reserve() throws IOException {
+        if (window == null || position + frameBytes > windowPosition + windowBytes) {
+            windowPosition = position;
+            window = channel.map(FileChannel.MapMode.READ_WRITE, windowPosition, windowBytes);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            windowInts = window.asIntBuffer();
+        }
+
+        int offset = (int) (position - windowPosition);
+        position += frameBytes;
+        return offset;
+    }
+
+    private void checkFailure() {
+        Throwable e = failure.get();
+        if (e == null) return;
+
+        if (e instanceof IOException) {
+            throw new UncheckedIOException((IOException) e);
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalStateException("Raw frame writer failed", e);
+    }
+}
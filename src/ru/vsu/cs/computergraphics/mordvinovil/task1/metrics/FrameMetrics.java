@@ -0,0 +1,41 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FrameMetrics {
+    private final LatencyHistogram[] histograms = new LatencyHistogram[FramePhase.values().length];
+    private final AtomicLong skippedFrames = new AtomicLong();
+
+    public FrameMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void record(FramePhase phase, long startNanos) {
+        recordNanos(phase, System.nanoTime() - startNanos);
+    }
+
+    public void recordNanos(FramePhase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public void addSkippedFrames(long frames) {
+        skippedFrames.addAndGet(frames);
+    }
+
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    public LatencyHistogram getHistogram(FramePhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        skippedFrames.set(0);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FrameMetricsJmx implements FrameMetricsMXBean {
+    private static final String DOMAIN = "ru.vsu.cs.computergraphics.mordvinovil.task1";
+
+    private final FrameMetrics metrics;
+
+    public FrameMetricsJmx(FrameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public static void register(FrameMetrics metrics, String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=FrameMetrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new FrameMetricsJmx(metrics), objectName);
+        } catch (JMException e) {
+            System.err.println("Cannot register frame metrics MBean: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (FramePhase phase : FramePhase.values()) {
+            result.put(phase.getMetricName(), metrics.getHistogram(phase).getCount());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getP50Micros() {
+        return percentiles(50);
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return percentiles(99);
+    }
+
+    @Override
+    public Map<String, Double> getMaxMicros() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (FramePhase phase : FramePhase.values()) {
+            result.put(phase.getMetricName(), metrics.getHistogram(phase).getMax() / 1000.0);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMeanMicros() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (FramePhase phase : FramePhase.values()) {
+            result.put(phase.getMetricName(), metrics.getHistogram(phase).getMean() / 1000.0);
+        }
+        return result;
+    }
+
+    @Override
+    public long getSkippedFrames() {
+        return metrics.getSkippedFrames();
+    }
+
+    @Override
+    public void reset() {
+        metrics.reset();
+    }
+
+    private Map<String, Double> percentiles(double percentile) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (FramePhase phase : FramePhase.values()) {
+            result.put(phase.getMetricName(), metrics.getHistogram(phase).getPercentile(percentile) / 1000.0);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.metrics;
+
+import java.util.Map;
+
+public interface FrameMetricsMXBean {
+    Map<String, Long> getCounts();
+
+    Map<String, Double> getP50Micros();
+
+    Map<String, Double> getP99Micros();
+
+    Map<String, Double> getMaxMicros();
+
+    Map<String, Double> getMeanMicros();
+
+    long getSkippedFrames();
+
+    void reset();
+}
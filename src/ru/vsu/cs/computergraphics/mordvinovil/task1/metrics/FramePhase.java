@@ -0,0 +1,29 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.metrics;
+
+public enum FramePhase {
+    UPDATE_INITIALIZE("update.initialize"),
+    UPDATE_RESIZE("update.resize"),
+    UPDATE_MOVING_OBJECTS("update.movingObjects"),
+    UPDATE_TOTAL("update.total"),
+    DRAW_PREPARE("draw.prepare"),
+    DRAW_BACKGROUND("draw.background"),
+    DRAW_STATIC_OBJECTS("draw.staticObjects"),
+    DRAW_SEA_ENVIRONMENT("draw.seaEnvironment"),
+    DRAW_MOVING_OBJECTS("draw.movingObjects"),
+    DRAW_WAVE_REFLECTIONS("draw.waveReflections"),
+    DRAW_UNDERWATER_DIVISION("draw.underwaterDivision"),
+    DRAW_UNDERWATER_WORLD("draw.underwaterWorld"),
+    DRAW_UNDERWATER_LIFE("draw.underwaterLife"),
+    DRAW_TOTAL("draw.total"),
+    PRESENT_JITTER("present.jitter");
+
+    private final String metricName;
+
+    FramePhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
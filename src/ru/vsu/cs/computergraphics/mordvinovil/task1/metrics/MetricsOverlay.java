@@ -0,0 +1,50 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.metrics;
+
+import java.awt.*;
+
+public class MetricsOverlay {
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+    private static final int LINE_HEIGHT = 13;
+    private static final int PADDING = 6;
+
+    private volatile boolean visible;
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    public void draw(Graphics2D g, FrameMetrics metrics) {
+        if (!visible) return;
+
+        FramePhase[] phases = FramePhase.values();
+        int width = 330;
+        int height = (phases.length + 2) * LINE_HEIGHT + PADDING * 2;
+
+        g.setColor(BACKGROUND);
+        g.fillRect(PADDING, PADDING, width, height);
+
+        g.setFont(FONT);
+        g.setColor(Color.WHITE);
+        int y = PADDING * 2 + LINE_HEIGHT - 3;
+        g.drawString(String.format("%-26s %8s %8s %8s", "phase (us)", "p50", "p99", "max"), PADDING * 2, y);
+
+        for (FramePhase phase : phases) {
+            LatencyHistogram histogram = metrics.getHistogram(phase);
+            y += LINE_HEIGHT;
+            g.drawString(String.format("%-26s %8.1f %8.1f %8.1f", phase.getMetricName(),
+                histogram.getPercentile(50) / 1000.0,
+                histogram.getPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0), PADDING * 2, y);
+        }
+
+        LatencyHistogram jitter = metrics.getHistogram(FramePhase.PRESENT_JITTER);
+        y += LINE_HEIGHT;
+        g.drawString(String.format("skipped frames %d, jitter mean %.2f ms, max %.2f ms",
+            metrics.getSkippedFrames(), jitter.getMean() / 1e6, jitter.getMax() / 1e6), PADDING * 2, y);
+    }
+}
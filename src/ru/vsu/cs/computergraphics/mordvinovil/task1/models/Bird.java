@@ -1,12 +1,20 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
 import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.SpriteAtlas;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
 import java.awt.*;
 
 public class Bird {
     private final Mover mover;
     private final int size;
     private final Color color;
+    private SpriteAtlas.Sprite rightSprite;
+    private SpriteAtlas.Sprite leftSprite;
 
     public Bird(Mover mover, int size, Color color) {
         this.mover = mover;
@@ -14,8 +22,8 @@ public class Bird {
         this.color = color;
     }
 
-    public Bird(int startX, int baseY, int speed, int amplitude, int size, Color color) {
-        this.mover = new Mover(startX, baseY, speed, amplitude, Mover.MovementType.SINUSOIDAL_Y);
+    public Bird(MoverSystem movers, int startX, int baseY, int speed, int amplitude, int size, Color color) {
+        this.mover = movers.create(startX, baseY, speed, amplitude, Mover.MovementType.SINUSOIDAL_Y);
         this.size = size;
         this.color = color;
     }
@@ -29,24 +37,53 @@ public class Bird {
     }
 
     public void draw(Graphics2D g) {
-        g.setColor(color);
-        g.setStroke(new BasicStroke(2));
+        draw(g, 1f);
+    }
 
-        int x = mover.getX();
-        int y = mover.getY();
+    public void draw(Graphics2D g, float alpha) {
         boolean isMovingRight = mover.isMovingRight();
+        SpriteAtlas.Sprite sprite = isMovingRight ? rightSprite : leftSprite;
+        if (sprite == null) {
+            int extent = size / 2 + 2;
+            sprite = SpriteAtlas.getShared().get("bird:" + size + ":" + isMovingRight + ":" + color.getRGB(),
+                g.getDeviceConfiguration(), extent * 2 + 1, extent * 2 + 1, extent, extent,
+                atlas -> paintSprite(atlas, isMovingRight));
+            if (isMovingRight) {
+                rightSprite = sprite;
+            } else {
+                leftSprite = sprite;
+            }
+        }
+
+        sprite.draw(g, (int) Math.round(mover.getInterpolatedX(alpha)),
+            (int) Math.round(mover.getInterpolatedY(alpha)));
+    }
+
+    private void paintSprite(Graphics2D g, boolean isMovingRight) {
+        g.setColor(color);
+        g.setStroke(RenderContext.getShared().stroke(2));
 
         if (isMovingRight) {
-            g.drawLine(x, y, x - size/2, y - size/2);
-            g.drawLine(x, y, x - size/2, y + size/2);
+            g.drawLine(0, 0, -size/2, -size/2);
+            g.drawLine(0, 0, -size/2, size/2);
         } else {
-            g.drawLine(x, y, x + size/2, y - size/2);
-            g.drawLine(x, y, x + size/2, y + size/2);
+            g.drawLine(0, 0, size/2, -size/2);
+            g.drawLine(0, 0, size/2, size/2);
         }
 
-        g.fillOval(x - 2, y - 2, 4, 4);
+        g.fillOval(-2, -2, 4, 4);
     }
 
     public int getY() { return mover.getY(); }
     public Mover getMover() { return mover; }
+
+    public void write(SceneOutput out, MoverSystem movers) {
+        movers.writeReference(out, mover);
+        out.writeInt(size);
+        out.writeColor(color);
+    }
+
+    public static Bird read(SceneInput in, MoverSystem movers) {
+        return new Bird(movers.readReference(in), in.readInt(), in.readColor());
+    }
 }
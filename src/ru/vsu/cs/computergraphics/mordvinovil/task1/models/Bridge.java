@@ -1,13 +1,22 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
 import java.awt.*;
 import java.awt.geom.QuadCurve2D;
 
 public class Bridge {
+    private static final Color PILLAR_COLOR = RenderContext.getShared().color(80, 80, 80);
+    private static final Color RAIL_COLOR = RenderContext.getShared().color(180, 180, 180);
+    private static final Stroke RAIL_STROKE = RenderContext.getShared().stroke(3);
+
     private final int x, height;
     private int y;
     private int width;
     private final Color color;
+    private final Color roadColor;
     private final int archHeight;
     private int pillarCount;
     private int pillarSpacing;
@@ -18,6 +27,7 @@ public class Bridge {
         this.width = width;
         this.height = height;
         this.color = color;
+        this.roadColor = color.darker();
         this.archHeight = archHeight;
         this.pillarCount = calculatePillarCount();
         this.pillarSpacing = width / pillarCount;
@@ -66,7 +76,7 @@ public class Bridge {
     }
 
     private void drawRoad(Graphics2D g) {
-        g.setColor(color.darker());
+        g.setColor(roadColor);
         QuadCurve2D road = new QuadCurve2D.Float(
             x, y + height - 5,
             x + (float) width / 2, y - archHeight + 5,
@@ -76,7 +86,7 @@ public class Bridge {
     }
 
     private void drawPillars(Graphics2D g) {
-        g.setColor(new Color(80, 80, 80));
+        g.setColor(PILLAR_COLOR);
 
         for (int i = 1; i < pillarCount; i++) {
             int pillarX = x + i * pillarSpacing;
@@ -91,8 +101,8 @@ public class Bridge {
     }
 
     private void drawMainRails(Graphics2D g) {
-        g.setColor(new Color(180, 180, 180));
-        g.setStroke(new BasicStroke(3));
+        g.setColor(RAIL_COLOR);
+        g.setStroke(RAIL_STROKE);
 
         QuadCurve2D topRail = new QuadCurve2D.Float(
             x, y + height - 15,
@@ -130,4 +140,29 @@ public class Bridge {
             2 * (1 - progress) * progress * controlY +
             progress * progress * endY);
     }
+
+    public void write(SceneOutput out) {
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeColor(color);
+        out.writeInt(archHeight);
+        out.writeInt(pillarCount);
+        out.writeInt(pillarSpacing);
+    }
+
+    public static Bridge read(SceneInput in) {
+        int x = in.readInt();
+        int y = in.readInt();
+        int width = in.readInt();
+        int height = in.readInt();
+        Color color = in.readColor();
+        int archHeight = in.readInt();
+
+        Bridge bridge = new Bridge(x, y + 30, width, height, color, archHeight);
+        bridge.pillarCount = in.readInt();
+        bridge.pillarSpacing = in.readInt();
+        return bridge;
+    }
 }
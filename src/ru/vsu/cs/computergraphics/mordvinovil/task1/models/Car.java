@@ -1,9 +1,14 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
 import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.SpriteAtlas;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
 
 import java.awt.*;
-import java.util.Random;
 
 public class Car {
     private final Mover mover;
@@ -12,9 +17,13 @@ public class Car {
     private final Color borderColor;
     private final int borderWidth;
     private final CarType type;
+    private final RandomStream random;
+    private SpriteAtlas.Sprite sprite;
 
-    public Car(int x, int y, int width, int height, Color bodyColor, CarType type) {
-        this.mover = new Mover(x, y, 1 + new Random().nextInt(5), 0, Mover.MovementType.LINEAR_X);
+    public Car(MoverSystem movers, RandomStream random, int x, int y, int width, int height,
+               Color bodyColor, CarType type) {
+        this.mover = movers.create(x, y, 1 + random.nextInt(5), 0, Mover.MovementType.LINEAR_X);
+        this.random = random;
         this.width = width;
         this.height = height;
         this.bodyColor = bodyColor;
@@ -23,8 +32,9 @@ public class Car {
         this.borderWidth = 2;
     }
 
-    public Car(Mover mover, int width, int height, Color bodyColor, CarType type) {
+    public Car(Mover mover, RandomStream random, int width, int height, Color bodyColor, CarType type) {
         this.mover = mover;
+        this.random = random;
         this.width = width;
         this.height = height;
         this.bodyColor = bodyColor;
@@ -48,27 +58,39 @@ public class Car {
 
     public void update() {
         mover.update();
+        afterMove();
+    }
+
+    public void afterMove() {
         if (mover.getX() > mover.getPanelWidth()) {
-            mover.setX(-width - new Random().nextInt(350));
+            mover.setX(-width - random.nextInt(350));
         }
     }
 
     public void draw(Graphics2D g) {
-        Stroke originalStroke = g.getStroke();
-        Color originalColor = g.getColor();
+        draw(g, 1f);
+    }
 
-        g.setStroke(new BasicStroke(borderWidth));
-        g.setColor(borderColor);
+    public void draw(Graphics2D g, float alpha) {
+        if (sprite == null) {
+            int margin = borderWidth;
+            int wheelDiameter = height / 3;
+            sprite = SpriteAtlas.getShared().get("car:" + type + ":" + width + "x" + height + ":" + bodyColor.getRGB(),
+                g.getDeviceConfiguration(), width + margin * 2 + 1, height + wheelDiameter / 2 + margin * 2 + 1,
+                margin, margin, this::paintSprite);
+        }
 
-        int x = mover.getX();
-        int y = mover.getY();
+        sprite.draw(g, (int) Math.round(mover.getInterpolatedX(alpha)),
+            (int) Math.round(mover.getInterpolatedY(alpha)));
+    }
 
-        drawBody(g, x, y);
-        drawWheels(g, x, y);
-        drawDetails(g, x, y);
+    private void paintSprite(Graphics2D g) {
+        g.setStroke(RenderContext.getShared().stroke(borderWidth));
+        g.setColor(borderColor);
 
-        g.setStroke(originalStroke);
-        g.setColor(originalColor);
+        drawBody(g, 0, 0);
+        drawWheels(g, 0, 0);
+        drawDetails(g, 0, 0);
     }
 
     private void drawBody(Graphics2D g, int x, int y) {
@@ -102,7 +124,7 @@ public class Car {
     }
 
     private void drawDetails(Graphics2D g, int x, int y) {
-        g.setColor(new Color(200, 230, 255));
+        g.setColor(RenderContext.getShared().color(200, 230, 255));
         if (type == CarType.SEDAN) {
             g.fillRect(x + width / 4 + 2, y + 2, width / 2 - 4, height / 2 - 4);
             g.setColor(borderColor);
@@ -128,23 +150,22 @@ public class Car {
             this.defaultColor = defaultColor;
         }
 
-        public Car createAt(int x, int y) {
-            return new Car(x, y, width, height, defaultColor, this);
+        public Car createAt(MoverSystem movers, RandomStream random, int x, int y) {
+            return new Car(movers, random, x, y, width, height, defaultColor, this);
         }
 
-        public static CarType getRandom() {
+        public static CarType getRandom(RandomStream random) {
             CarType[] types = values();
-            return types[new Random().nextInt(types.length)];
+            return types[random.nextInt(types.length)];
         }
     }
 
-    public static Car createRandom(int x, int y) {
-        Random random = new Random();
+    public static Car createRandom(MoverSystem movers, RandomStream random, int x, int y) {
         int r = random.nextInt(256);
         int g = random.nextInt(256);
         int b = random.nextInt(256);
 
-        Car car = CarType.getRandom().createAt(x, y);
+        Car car = CarType.getRandom(random).createAt(movers, random, x, y);
         car.bodyColor = new Color(r, g, b);
         return car;
     }
@@ -160,4 +181,22 @@ public class Car {
     public Mover getMover() {
         return mover;
     }
+
+    public void write(SceneOutput out, MoverSystem movers) {
+        movers.writeReference(out, mover);
+        out.writeInt(type.ordinal());
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeColor(bodyColor);
+        out.writeRandom(random);
+    }
+
+    public static Car read(SceneInput in, MoverSystem movers) {
+        Mover mover = movers.readReference(in);
+        CarType type = CarType.values()[in.readInt()];
+        int width = in.readInt();
+        int height = in.readInt();
+        Color bodyColor = in.readColor();
+        return new Car(mover, in.readRandom(), width, height, bodyColor, type);
+    }
 }
@@ -1,14 +1,22 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.SpriteAtlas;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
 import java.awt.*;
-import java.util.Random;
 
 public class Cloud {
     private static final Color FILL_COLOR = new Color(255, 255, 255, 255);
     private static final Color BORDER_COLOR = new Color(255, 255, 255, 128);
     private static final int BORDER_WIDTH = 1;
+    private static final AlphaComposite CLOUD_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f);
 
-    private final int x, y, baseDiameter, overlap;
+    private final int baseDiameter, overlap;
+    private int x, y;
+    private SpriteAtlas.Sprite sprite;
 
     public Cloud(int x, int y, int baseDiameter, int overlap) {
         this.x = x;
@@ -17,22 +25,42 @@ public class Cloud {
         this.overlap = overlap;
     }
 
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public void setPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
     public void draw(Graphics2D g) {
-        Composite originalComposite = g.getComposite();
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f));
+        if (sprite == null) {
+            int spriteWidth = baseDiameter * 2 - overlap + 35 + BORDER_WIDTH * 2 + 1;
+            int spriteHeight = baseDiameter + 25 + BORDER_WIDTH * 2 + 1;
+            sprite = SpriteAtlas.getShared().get("cloud:" + baseDiameter + ":" + overlap, g.getDeviceConfiguration(),
+                spriteWidth, spriteHeight, BORDER_WIDTH, 10 + BORDER_WIDTH, this::paintSprite);
+        }
+
+        sprite.draw(g, x, y);
+    }
 
-        g.setStroke(new BasicStroke(BORDER_WIDTH));
+    private void paintSprite(Graphics2D g) {
+        g.setComposite(CLOUD_COMPOSITE);
+        g.setStroke(RenderContext.getShared().stroke(BORDER_WIDTH));
 
         g.setColor(FILL_COLOR);
-        drawCloudCircles(g, true);
+        drawCloudCircles(g, 0, 0, true);
 
         g.setColor(BORDER_COLOR);
-        drawCloudCircles(g, false);
-
-        g.setComposite(originalComposite);
+        drawCloudCircles(g, 0, 0, false);
     }
 
-    private void drawCloudCircles(Graphics2D g, boolean fill) {
+    private void drawCloudCircles(Graphics2D g, int x, int y, boolean fill) {
         int[] circleOffsetsX = {0, baseDiameter - overlap + 10, baseDiameter - overlap + 35, baseDiameter - overlap + 10};
         int[] circleOffsetsY = {0, -10, 0, 15};
 
@@ -48,10 +76,20 @@ public class Cloud {
         }
     }
 
-    public static Cloud createRandom(int x, int y) {
-        Random random = new Random();
+    public static Cloud createRandom(RandomStream random, int x, int y) {
         int baseDiameter = 30 + random.nextInt(50);
         int overlap = baseDiameter / 2 + random.nextInt(baseDiameter / 4);
         return new Cloud(x, y, baseDiameter, overlap);
     }
+
+    public void write(SceneOutput out) {
+        out.writeInt(x);
+        out.writeInt(y);
+        out.writeInt(baseDiameter);
+        out.writeInt(overlap);
+    }
+
+    public static Cloud read(SceneInput in) {
+        return new Cloud(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
 }
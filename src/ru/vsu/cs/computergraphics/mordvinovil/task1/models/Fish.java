@@ -1,24 +1,39 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
 import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleEmitter;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleType;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.SpriteAtlas;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
 
 import java.awt.*;
-import java.util.Random;
 
 public class Fish {
+    private static final int BUBBLE_PERIOD = 40;
+
     private final Mover mover;
     private final int width, height;
     private final Color bodyColor;
+    private final ParticleEmitter bubbleEmitter;
+    private SpriteAtlas.Sprite sprite;
+
+    public Fish(Mover mover, RandomStream random, int width, int height, Color bodyColor) {
+        this(mover, new ParticleEmitter(ParticleType.BUBBLE, BUBBLE_PERIOD, 1, random), width, height, bodyColor);
+    }
 
-    public Fish(Mover mover, int width, int height, Color bodyColor) {
+    private Fish(Mover mover, ParticleEmitter bubbleEmitter, int width, int height, Color bodyColor) {
         this.mover = mover;
+        this.bubbleEmitter = bubbleEmitter;
         this.width = width;
         this.height = height;
         this.bodyColor = bodyColor;
     }
 
-    public Fish(int x, int y, int width, int height, int speed) {
-        Random random = new Random();
+    public Fish(MoverSystem movers, RandomStream random, int x, int y, int width, int height, int speed) {
         Color[] colors = {
             Color.RED, Color.GREEN, Color.BLUE, Color.ORANGE,
             Color.YELLOW, Color.PINK, Color.CYAN, Color.MAGENTA
@@ -26,7 +41,8 @@ public class Fish {
         this.bodyColor = colors[random.nextInt(colors.length)];
         this.width = width;
         this.height = height;
-        this.mover = new Mover(x, y, speed, 20, Mover.MovementType.FISH_SWIM);
+        this.mover = movers.create(x, y, speed, 20, Mover.MovementType.FISH_SWIM);
+        this.bubbleEmitter = new ParticleEmitter(ParticleType.BUBBLE, BUBBLE_PERIOD, 1, random);
     }
 
     public void setPanelWidth(int panelWidth) {
@@ -41,24 +57,37 @@ public class Fish {
         mover.setStartY(horizonY + 50);
     }
 
-    public void update() {
+    public void update(ParticleSystem particles) {
         mover.update();
+        afterMove(particles);
+    }
+
+    public void afterMove(ParticleSystem particles) {
+        bubbleEmitter.emit(particles, mover.getX() + width, mover.getY() + height / 2, 0);
     }
 
     public void draw(Graphics2D g) {
-        RenderingHints originalHints = g.getRenderingHints();
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        draw(g, 1f);
+    }
 
-        int x = mover.getX();
-        int y = mover.getY();
+    public void draw(Graphics2D g, float alpha) {
+        if (sprite == null) {
+            int tailWidth = width / 2 - 5;
+            sprite = SpriteAtlas.getShared().get("fish:" + width + "x" + height + ":" + bodyColor.getRGB(),
+                g.getDeviceConfiguration(), width + tailWidth + 1, height * 2 + 1, tailWidth, height / 2,
+                this::paintSprite);
+        }
 
-        drawTail(g, x, y);
-        drawBody(g, x, y);
-        drawEye(g, x, y);
-        drawDorsalFin(g, x, y);
-        drawVentralFin(g, x, y);
+        sprite.draw(g, (int) Math.round(mover.getInterpolatedX(alpha)),
+            (int) Math.round(mover.getInterpolatedY(alpha)));
+    }
 
-        g.setRenderingHints(originalHints);
+    private void paintSprite(Graphics2D g) {
+        drawTail(g, 0, 0);
+        drawBody(g, 0, 0);
+        drawEye(g, 0, 0);
+        drawDorsalFin(g, 0, 0);
+        drawVentralFin(g, 0, 0);
     }
 
     private void drawTail(Graphics2D g, int x, int y) {
@@ -122,4 +151,23 @@ public class Fish {
     public Mover getMover() {
         return mover;
     }
+
+    public void write(SceneOutput out, MoverSystem movers) {
+        movers.writeReference(out, mover);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeColor(bodyColor);
+        out.writeInt(bubbleEmitter.getTimer());
+        out.writeRandom(bubbleEmitter.getRandom());
+    }
+
+    public static Fish read(SceneInput in, MoverSystem movers) {
+        Mover mover = movers.readReference(in);
+        int width = in.readInt();
+        int height = in.readInt();
+        Color bodyColor = in.readColor();
+        int timer = in.readInt();
+        ParticleEmitter emitter = new ParticleEmitter(ParticleType.BUBBLE, BUBBLE_PERIOD, 1, in.readRandom(), timer);
+        return new Fish(mover, emitter, width, height, bodyColor);
+    }
 }
@@ -1,50 +1,137 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
 import java.awt.*;
-import java.util.Random;
+import java.awt.geom.GeneralPath;
 
 public class Seaweed {
-    private final int x;
-    private final int y;
-    private final Color color;
-    private final Random random = new Random();
-
     private static final Color SEAWEED_COLOR = new Color(60, 179, 113);
+    private static final int STALK_SEGMENTS = 4;
+    private static final float STALK_HALF_WIDTH = 1.5f;
+    private static final float SWAY_AMPLITUDE = 0.12f;
+    private static final float LEAF_SWAY = 0.15f;
 
-    public Seaweed(int x, int y) {
+    private int x;
+    private final int height;
+    private final Color color;
+    private final float swayPhase;
+    private final float swaySpeed;
+    private final float[] leafLengths;
+    private final boolean[] leftLeaves;
+
+    public Seaweed(RandomStream random, int x, int height) {
         this.x = x;
-        this.y = y;
+        this.height = height;
         this.color = new Color(
             SEAWEED_COLOR.getRed() + random.nextInt(30) - 15,
             SEAWEED_COLOR.getGreen() + random.nextInt(30) - 15,
             SEAWEED_COLOR.getBlue() + random.nextInt(30) - 15
         );
+        this.swayPhase = (float) (random.nextDouble() * Math.PI * 2);
+        this.swaySpeed = 0.15f + (float) random.nextDouble() * 0.1f;
+
+        int leafCount = 3 + random.nextInt(4);
+        this.leafLengths = new float[leafCount];
+        this.leftLeaves = new boolean[leafCount];
+        for (int i = 0; i < leafCount; i++) {
+            leftLeaves[i] = random.nextBoolean();
+            leafLengths[i] = 15 + random.nextInt(20);
+        }
     }
 
-    public void draw(Graphics2D g, int panelHeight) {
-        int seaweedY = panelHeight - y - 40;
-        g.setColor(color);
-        g.setStroke(new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g.drawLine(x, seaweedY + y, x, seaweedY);
+    private Seaweed(int x, int height, Color color, float swayPhase, float swaySpeed, float[] leafLengths,
+                    boolean[] leftLeaves) {
+        this.x = x;
+        this.height = height;
+        this.color = color;
+        this.swayPhase = swayPhase;
+        this.swaySpeed = swaySpeed;
+        this.leafLengths = leafLengths;
+        this.leftLeaves = leftLeaves;
+    }
 
-        int leafCount = 3 + random.nextInt(4);
+    public int getX() {
+        return x;
+    }
+
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public void appendTo(GeneralPath path, int baseY, float time) {
+        float sway = height * SWAY_AMPLITUDE * (float) Math.sin(swayPhase + time * swaySpeed);
+
+        for (int i = 0; i <= STALK_SEGMENTS; i++) {
+            float t = (float) i / STALK_SEGMENTS;
+            float stalkX = x + sway * t * t + STALK_HALF_WIDTH;
+            float stalkY = baseY - height * t;
+            if (i == 0) {
+                path.moveTo(stalkX, stalkY);
+            } else {
+                path.lineTo(stalkX, stalkY);
+            }
+        }
+        for (int i = STALK_SEGMENTS; i >= 0; i--) {
+            float t = (float) i / STALK_SEGMENTS;
+            path.lineTo(x + sway * t * t - STALK_HALF_WIDTH, baseY - height * t);
+        }
+        path.closePath();
+
+        int leafCount = leafLengths.length;
         for (int i = 0; i < leafCount; i++) {
-            int leafY = seaweedY + y - (i * y / leafCount);
-            drawLeaf(g, x, leafY, random.nextBoolean());
+            float t = (float) i / leafCount;
+            float length = leafLengths[i];
+            float direction = leftLeaves[i] ? -1 : 1;
+            float tipSway = sway * LEAF_SWAY * length / height;
+
+            float rootX = x + sway * t * t;
+            float rootY = baseY - height * t;
+            float outerX = rootX + direction * length + tipSway;
+            float outerY = rootY - length / 2;
+            float tipX = rootX + direction * length / 2 + tipSway;
+            float tipY = rootY - length;
+
+            path.moveTo(rootX, rootY);
+            if (leftLeaves[i]) {
+                path.lineTo(tipX, tipY);
+                path.lineTo(outerX, outerY);
+            } else {
+                path.lineTo(outerX, outerY);
+                path.lineTo(tipX, tipY);
+            }
+            path.closePath();
         }
     }
 
-    private void drawLeaf(Graphics2D g, int x, int y, boolean leftDirection) {
-        int direction = leftDirection ? -1 : 1;
-        int leafLength = 15 + random.nextInt(20);
-        int x1 = x;
-        int y1 = y;
-        int x2 = x + direction * leafLength;
-        int y2 = y - leafLength / 2;
-        int x3 = x + direction * leafLength / 2;
-        int y3 = y - leafLength;
-        int[] xPoints = {x1, x2, x3};
-        int[] yPoints = {y1, y2, y3};
-        g.fillPolygon(xPoints, yPoints, 3);
+    public void write(SceneOutput out) {
+        out.writeInt(x);
+        out.writeInt(height);
+        out.writeColor(color);
+        out.writeFloat(swayPhase);
+        out.writeFloat(swaySpeed);
+        out.writeInt(leafLengths.length);
+        out.writeFloats(leafLengths, leafLengths.length);
+        out.writeBooleans(leftLeaves, leftLeaves.length);
+    }
+
+    public static Seaweed read(SceneInput in) {
+        int x = in.readInt();
+        int height = in.readInt();
+        Color color = in.readColor();
+        float swayPhase = in.readFloat();
+        float swaySpeed = in.readFloat();
+        int leafCount = in.readCount(Float.BYTES + 1);
+        float[] leafLengths = new float[leafCount];
+        boolean[] leftLeaves = new boolean[leafCount];
+        in.readFloats(leafLengths, leafCount);
+        in.readBooleans(leftLeaves, leafCount);
+        return new Seaweed(x, height, color, swayPhase, swaySpeed, leafLengths, leftLeaves);
     }
 }
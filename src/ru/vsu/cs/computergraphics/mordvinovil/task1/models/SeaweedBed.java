@@ -0,0 +1,159 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
+import java.awt.*;
+import java.awt.geom.GeneralPath;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SeaweedBed {
+    private static final int SECTION_SEAWEED = 0x57454544;
+    private static final int COLOR_QUANTUM = 16;
+    private static final int INITIAL_PATH_CAPACITY = 256;
+    private static final int PLANTS_PER_FILL = 8;
+
+    private final List<Seaweed> seaweeds = new ArrayList<>();
+    private final List<Color> colors = new ArrayList<>();
+    private final List<GeneralPath> batches = new ArrayList<>();
+    private int[] buckets = new int[16];
+    private int[] order = new int[0];
+    private int[] pending = new int[0];
+    private int[] open = new int[0];
+    private int[] batchBuckets = new int[0];
+    private int[] fills = new int[0];
+    private int fillCount;
+    private boolean orderValid;
+
+    public void clear() {
+        seaweeds.clear();
+        colors.clear();
+        orderValid = false;
+    }
+
+    public void add(Seaweed seaweed) {
+        int index = seaweeds.size();
+        seaweeds.add(seaweed);
+        if (buckets.length == index) {
+            buckets = Arrays.copyOf(buckets, index * 2);
+        }
+        buckets[index] = bucketFor(seaweed.getColor());
+        orderValid = false;
+    }
+
+    public int size() {
+        return seaweeds.size();
+    }
+
+    public int getBucketCount() {
+        return colors.size();
+    }
+
+    public void scaleX(double scaleX) {
+        for (Seaweed seaweed : seaweeds) {
+            seaweed.setX((int) (seaweed.getX() * scaleX));
+        }
+    }
+
+    public void write(SceneOutput out) {
+        out.writeSection(SECTION_SEAWEED, seaweeds.size());
+        for (Seaweed seaweed : seaweeds) {
+            seaweed.write(out);
+        }
+    }
+
+    public void read(SceneInput in) {
+        clear();
+        int count = in.readSection(SECTION_SEAWEED);
+        for (int i = 0; i < count; i++) {
+            add(Seaweed.read(in));
+        }
+    }
+
+    public void prepare(int baseY, float time) {
+        if (!orderValid) {
+            sortByX();
+        }
+        if (pending.length < colors.size()) {
+            pending = new int[colors.size()];
+            open = new int[colors.size()];
+        }
+
+        int batchCount = 0;
+        fillCount = 0;
+        Arrays.fill(pending, 0, colors.size(), 0);
+
+        for (int i = 0; i < seaweeds.size(); i++) {
+            int index = order[i];
+            int bucket = buckets[index];
+            if (pending[bucket] == 0) {
+                open[bucket] = batchCount;
+                openBatch(batchCount++, bucket);
+            }
+            seaweeds.get(index).appendTo(batches.get(open[bucket]), baseY, time);
+            if (++pending[bucket] == PLANTS_PER_FILL) {
+                fills[fillCount++] = open[bucket];
+                pending[bucket] = 0;
+            }
+        }
+
+        for (int i = 0; i < colors.size(); i++) {
+            if (pending[i] > 0) {
+                fills[fillCount++] = open[i];
+            }
+        }
+    }
+
+    public void draw(Graphics2D g) {
+        for (int i = 0; i < fillCount; i++) {
+            int batch = fills[i];
+            g.setColor(colors.get(batchBuckets[batch]));
+            g.fill(batches.get(batch));
+        }
+    }
+
+    private void openBatch(int batch, int bucket) {
+        if (batch == batches.size()) {
+            batches.add(new GeneralPath(GeneralPath.WIND_NON_ZERO, INITIAL_PATH_CAPACITY));
+        }
+        if (batch == batchBuckets.length) {
+            batchBuckets = Arrays.copyOf(batchBuckets, Math.max(16, batch * 2));
+            fills = Arrays.copyOf(fills, batchBuckets.length);
+        }
+        batches.get(batch).reset();
+        batchBuckets[batch] = bucket;
+    }
+
+    private void sortByX() {
+        int count = seaweeds.size();
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (long) seaweeds.get(i).getX() << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+        orderValid = true;
+    }
+
+    private int bucketFor(Color color) {
+        int rgb = quantize(color.getRed()) << 16 | quantize(color.getGreen()) << 8 | quantize(color.getBlue());
+        for (int i = 0; i < colors.size(); i++) {
+            if ((colors.get(i).getRGB() & 0xFFFFFF) == rgb) {
+                return i;
+            }
+        }
+
+        colors.add(new Color(rgb));
+        return colors.size() - 1;
+    }
+
+    private static int quantize(int channel) {
+        return Math.min(255, channel / COLOR_QUANTUM * COLOR_QUANTUM + COLOR_QUANTUM / 2);
+    }
+}
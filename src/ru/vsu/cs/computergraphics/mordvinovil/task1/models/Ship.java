@@ -1,50 +1,94 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
 import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleEmitter;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleType;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.awt.geom.Arc2D;
+import java.awt.geom.GeneralPath;
+import java.awt.image.BufferedImage;
 
 public class Ship {
+    private static final int WAKE_SPREAD = 20;
+    private static final int SMOKE_PERIOD = 3;
+    private static final int SMOKE_BURST = 2;
+    private static final int WAKE_PERIOD = 1;
+    private static final int WAKE_BURST = 2;
+    private static final double MAX_PITCH = 0.12;
+    private static final double PITCH_EASING = 0.25;
+    private static final int SPRITE_MARGIN = 8;
+    private static final int RIPPLE_STRIP_WIDTH = 4;
+    private static final double RIPPLE_AMPLITUDE = 2.5;
+    private static final AlphaComposite REFLECTION_COMPOSITE =
+        AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f);
+    private static final Color FUNNEL_COLOR = new Color(180, 0, 0);
+    private static final Color FUNNEL_RIM_COLOR = new Color(200, 0, 0);
+    private static final String NAME = "Таск 1";
+
     private final Mover mover;
     private final int length;
     private final int height;
     private final Color hullColor;
     private final Color superstructureColor;
     private final Color windowColor;
+    private final GeneralPath hull;
+    private final Arc2D bow;
+    private final Shape name;
 
-    private final List<float[]> smokeParticles;
-    private final Random random;
-    private int smokeTimer;
+    private final ParticleEmitter smokeEmitter;
+    private final ParticleEmitter wakeEmitter;
 
-    public Ship(int x, int y, int length, int height,
-                Color hullColor, Color superstructureColor, Color windowColor, int speed) {
-        this.mover = new Mover(x, y, speed, 0, Mover.MovementType.LINEAR_X);
-        this.length = length;
-        this.height = height;
-        this.hullColor = hullColor;
-        this.superstructureColor = superstructureColor;
-        this.windowColor = windowColor;
+    private double pitch;
+    private double previousPitch;
+    private BufferedImage sprite;
 
-        this.smokeParticles = new ArrayList<>();
-        this.random = new Random();
-        this.smokeTimer = 0;
+    public Ship(MoverSystem movers, RandomStream random, int x, int y, int length, int height,
+                Color hullColor, Color superstructureColor, Color windowColor, int speed) {
+        this(movers.create(x, y, speed, 0, Mover.MovementType.LINEAR_X), random, length, height,
+            hullColor, superstructureColor, windowColor);
     }
 
-    public Ship(Mover mover, int length, int height,
+    public Ship(Mover mover, RandomStream random, int length, int height,
                 Color hullColor, Color superstructureColor, Color windowColor) {
+        this(mover, length, height, hullColor, superstructureColor, windowColor,
+            new ParticleEmitter(ParticleType.SMOKE, SMOKE_PERIOD, SMOKE_BURST, random),
+            new ParticleEmitter(ParticleType.WAKE_FOAM, WAKE_PERIOD, WAKE_BURST, random));
+    }
+
+    private Ship(Mover mover, int length, int height, Color hullColor, Color superstructureColor,
+                 Color windowColor, ParticleEmitter smokeEmitter, ParticleEmitter wakeEmitter) {
         this.mover = mover;
         this.length = length;
         this.height = height;
         this.hullColor = hullColor;
         this.superstructureColor = superstructureColor;
         this.windowColor = windowColor;
+        this.smokeEmitter = smokeEmitter;
+        this.wakeEmitter = wakeEmitter;
+        this.hull = createHull(length, height);
+        this.bow = new Arc2D.Float(-8, 0, 16, height, 90, 90, Arc2D.PIE);
 
-        this.smokeParticles = new ArrayList<>();
-        this.random = new Random();
-        this.smokeTimer = 0;
+        RenderContext context = RenderContext.getShared();
+        this.name = context.glyphs(context.font("Arial", Font.BOLD, Math.max(12, length / 25)), NAME).getOutline();
+    }
+
+    private static GeneralPath createHull(int length, int height) {
+        GeneralPath hull = new GeneralPath(GeneralPath.WIND_EVEN_ODD);
+        hull.moveTo(-5, height / 2);
+        hull.lineTo(0, 5);
+        hull.lineTo(length - 10, 0);
+        hull.lineTo(length - length / 4, height);
+        hull.lineTo(length / 4, height);
+        hull.closePath();
+        return hull;
     }
 
     public int getX() {
@@ -64,45 +108,120 @@ public class Ship {
         mover.setStartY(y);
     }
 
+    public void setPitch(double targetPitch) {
+        double clamped = Math.max(-MAX_PITCH, Math.min(MAX_PITCH, targetPitch));
+        previousPitch = pitch;
+        pitch += (clamped - pitch) * PITCH_EASING;
+    }
+
+    public double getPitch() {
+        return pitch;
+    }
+
     public void setPanelWidth(int panelWidth) {
         mover.setPanelWidth(panelWidth);
     }
 
-    public void update() {
+    public void update(ParticleSystem particles) {
         mover.update();
+        afterMove(particles);
+    }
+
+    public void afterMove(ParticleSystem particles) {
         if (mover.getX() > mover.getPanelWidth()) {
             mover.setX(-length);
         }
-        updateSmoke();
+        updateSmoke(particles);
     }
 
     public void draw(Graphics2D g) {
-        RenderingHints originalHints = g.getRenderingHints();
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        draw(g, 1f);
+    }
 
-        int x = mover.getX();
-        int y = mover.getY();
+    public void draw(Graphics2D g, float alpha) {
+        Object antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        RenderContext.setRenderingHint(g, RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        double renderX = mover.getInterpolatedX(alpha);
+        double renderY = mover.getInterpolatedY(alpha);
+        int x = (int) Math.floor(renderX);
+        int y = (int) Math.floor(renderY);
+        double renderPitch = previousPitch + (pitch - previousPitch) * alpha;
+        g.translate(renderX - x, renderY - y);
+        g.rotate(renderPitch, x + length / 2.0, y + height / 2.0);
 
         drawHull(g, x, y);
         drawSuperstructure(g, x, y);
         drawWindows(g, x, y);
         drawFunnel(g, x, y);
-        drawSmoke(g, x, y);
         drawShipName(g, x, y);
 
-        g.setRenderingHints(originalHints);
+        g.rotate(-renderPitch, x + length / 2.0, y + height / 2.0);
+        g.translate(x - renderX, y - renderY);
+
+        RenderContext.setRenderingHint(g, RenderingHints.KEY_ANTIALIASING, antialiasing);
+    }
+
+    public void prepareReflection(Graphics2D g) {
+        if (sprite == null) {
+            sprite = renderSprite(g);
+        }
+    }
+
+    public void drawReflection(Graphics2D g, float alpha, int ticks) {
+        prepareReflection(g);
+
+        int x = (int) Math.round(mover.getInterpolatedX(alpha)) - SPRITE_MARGIN;
+        int waterlineY = (int) Math.round(mover.getInterpolatedY(alpha)) + height;
+        int spriteWaterline = sprite.getHeight();
+        double phase = (ticks + alpha) * 0.3;
+
+        Composite composite = g.getComposite();
+        g.setComposite(REFLECTION_COMPOSITE);
+        for (int column = 0; column < sprite.getWidth(); column += RIPPLE_STRIP_WIDTH) {
+            int stripWidth = Math.min(RIPPLE_STRIP_WIDTH, sprite.getWidth() - column);
+            int ripple = (int) Math.round(Math.sin(phase + column * 0.08) * RIPPLE_AMPLITUDE);
+            int top = waterlineY + ripple;
+            g.drawImage(sprite, x + column, top, x + column + stripWidth, top + spriteWaterline,
+                column, 0, column + stripWidth, spriteWaterline, null);
+        }
+        g.setComposite(composite);
+    }
+
+    private BufferedImage renderSprite(Graphics2D target) {
+        BufferedImage image = target.getDeviceConfiguration().createCompatibleImage(
+            length + SPRITE_MARGIN * 2, height * 2 + SPRITE_MARGIN, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int x = SPRITE_MARGIN;
+        int y = height;
+        drawHull(g, x, y);
+        drawSuperstructure(g, x, y);
+        drawWindows(g, x, y);
+        drawFunnel(g, x, y);
+        drawShipName(g, x, y);
+        g.dispose();
+
+        int waterline = height + height;
+        BufferedImage reflection = target.getDeviceConfiguration().createCompatibleImage(
+            image.getWidth(), waterline, Transparency.TRANSLUCENT);
+        g = reflection.createGraphics();
+        g.drawImage(image, 0, 0, image.getWidth(), waterline, 0, waterline, image.getWidth(), 0, null);
+        g.dispose();
+        return reflection;
     }
 
     private void drawHull(Graphics2D g, int x, int y) {
-        g.setColor(hullColor);
-        int[] hullX = {x - 5, x, x + length - 10, x + length - length / 4, x + length / 4};
-        int[] hullY = {y + height / 2, y + 5, y, y + height, y + height};
-        g.fillPolygon(hullX, hullY, 5);
-        g.fillArc(x - 8, y, 16, height, 90, 90);
+        RenderContext.setColor(g, hullColor);
+        g.translate(x, y);
+        g.fill(hull);
+        g.fill(bow);
+        g.translate(-x, -y);
     }
 
     private void drawSuperstructure(Graphics2D g, int x, int y) {
-        g.setColor(superstructureColor);
+        RenderContext.setColor(g, superstructureColor);
         int superstructureHeight = height / 2;
         int superstructureWidth = length / 2;
         int superstructureX = x + length / 4;
@@ -111,7 +230,7 @@ public class Ship {
     }
 
     private void drawWindows(Graphics2D g, int x, int y) {
-        g.setColor(windowColor);
+        RenderContext.setColor(g, windowColor);
         int superstructureHeight = height / 2;
         int superstructureWidth = length / 2;
         int superstructureX = x + length / 4;
@@ -136,75 +255,28 @@ public class Ship {
         int funnelX = x + length / 2;
         int funnelY = superstructureY - funnelHeight;
 
-        g.setColor(new Color(180, 0, 0));
+        RenderContext.setColor(g, FUNNEL_COLOR);
         g.fillRect(funnelX, funnelY, funnelWidth, funnelHeight);
-        g.setColor(new Color(200, 0, 0));
+        RenderContext.setColor(g, FUNNEL_RIM_COLOR);
         g.fillRect(funnelX - 2, funnelY, funnelWidth + 4, 5);
     }
 
-    private void drawSmoke(Graphics2D g, int x, int y) {
-        for (float[] smoke : smokeParticles) {
-            float smokeX = smoke[0];
-            float smokeY = smoke[1];
-            float size = smoke[2];
-            int alpha = (int) smoke[3];
-            g.setColor(new Color(150, 150, 150, alpha));
-            g.fillOval((int) smokeX, (int) smokeY, (int) size, (int) size);
-        }
-    }
-
-    private void updateSmoke() {
-        smokeTimer++;
-        if (smokeTimer >= 3) {
-            smokeTimer = 0;
-            int[] funnelCoords = getFunnelCoordinates(mover.getX(), mover.getY());
-            int smokeStartY = funnelCoords[1] - 10;
-            int smokeStartX = funnelCoords[0] + funnelCoords[2] / 2;
-
-            int particlesToCreate = random.nextInt(2) + 1;
-            for (int i = 0; i < particlesToCreate; i++) {
-                int offsetX = random.nextInt(funnelCoords[2]) - funnelCoords[2] / 2;
-                float[] smoke = {
-                    smokeStartX + offsetX,
-                    smokeStartY,
-                    random.nextInt(5) + 8,
-                    200,
-                    random.nextInt(20) + 30
-                };
-                smokeParticles.add(smoke);
-            }
-        }
-
-        for (int i = smokeParticles.size() - 1; i >= 0; i--) {
-            float[] smoke = smokeParticles.get(i);
-            smoke[1] -= 2;
-            smoke[0] += random.nextInt(3) - 1;
-            smoke[2] += 0.5f;
-            smoke[4]--;
-            smoke[3] = Math.max(0, smoke[3] - 5);
-
-            if (smoke[4] <= 0 || smoke[2] > 25 || smoke[3] <= 10) {
-                smokeParticles.remove(i);
-            }
-        }
-    }
-
-    private int[] getFunnelCoordinates(int shipX, int shipY) {
-        int superstructureHeight = height / 2;
-        int superstructureY = shipY - superstructureHeight + 5;
+    public void updateSmoke(ParticleSystem particles) {
+        int superstructureY = mover.getY() - height / 2 + 5;
         int funnelWidth = length / 8;
-        int funnelHeight = height / 2;
-        int funnelX = shipX + length / 2;
-        int funnelY = superstructureY - funnelHeight;
-        return new int[]{funnelX, funnelY, funnelWidth, funnelHeight};
+        int funnelX = mover.getX() + length / 2;
+        int funnelY = superstructureY - height / 2;
+        smokeEmitter.emit(particles, funnelX + funnelWidth / 2, funnelY - 10, funnelWidth);
+        wakeEmitter.emit(particles, mover.getX(), mover.getY() + height - 5, WAKE_SPREAD);
     }
 
     private void drawShipName(Graphics2D g, int x, int y) {
-        int fontSize = Math.max(12, length / 25);
-        Font shipFont = new Font("Arial", Font.BOLD, fontSize);
-        g.setFont(shipFont);
-        g.setColor(Color.BLACK);
-        g.drawString("Таск 1", x + length / 4, y + height - 5);
+        int nameX = x + length / 4;
+        int nameY = y + height - 5;
+        RenderContext.setColor(g, Color.BLACK);
+        g.translate(nameX, nameY);
+        g.fill(name);
+        g.translate(-nameX, -nameY);
     }
 
     public int getHeight() {
@@ -214,4 +286,37 @@ public class Ship {
     public Mover getMover() {
         return mover;
     }
+
+    public void write(SceneOutput out, MoverSystem movers) {
+        movers.writeReference(out, mover);
+        out.writeInt(length);
+        out.writeInt(height);
+        out.writeColor(hullColor);
+        out.writeColor(superstructureColor);
+        out.writeColor(windowColor);
+        out.writeInt(smokeEmitter.getTimer());
+        out.writeInt(wakeEmitter.getTimer());
+        out.writeRandom(smokeEmitter.getRandom());
+        out.writeDouble(pitch);
+        out.writeDouble(previousPitch);
+    }
+
+    public static Ship read(SceneInput in, MoverSystem movers) {
+        Mover mover = movers.readReference(in);
+        int length = in.readInt();
+        int height = in.readInt();
+        Color hullColor = in.readColor();
+        Color superstructureColor = in.readColor();
+        Color windowColor = in.readColor();
+        int smokeTimer = in.readInt();
+        int wakeTimer = in.readInt();
+        RandomStream random = in.readRandom();
+
+        Ship ship = new Ship(mover, length, height, hullColor, superstructureColor, windowColor,
+            new ParticleEmitter(ParticleType.SMOKE, SMOKE_PERIOD, SMOKE_BURST, random, smokeTimer),
+            new ParticleEmitter(ParticleType.WAKE_FOAM, WAKE_PERIOD, WAKE_BURST, random, wakeTimer));
+        ship.pitch = in.readDouble();
+        ship.previousPitch = in.readDouble();
+        return ship;
+    }
 }
@@ -0,0 +1,34 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class WaterSurface {
+    private static final int MARGIN = 512;
+
+    private int[] heights = new int[1];
+    private int width;
+
+    public void update(List<Wave> waves, int width, int ticks, int stillWaterY) {
+        this.width = width;
+        int columns = width + MARGIN * 2;
+        if (heights.length < columns) {
+            heights = new int[columns];
+        }
+        Arrays.fill(heights, 0, columns, stillWaterY);
+
+        for (Wave wave : waves) {
+            wave.accumulateSurface(heights, -MARGIN, columns, ticks);
+        }
+    }
+
+    public int getHeight(int x) {
+        int column = Math.max(0, Math.min(x + MARGIN, width + MARGIN * 2 - 1));
+        return heights[column];
+    }
+
+    public double getSlope(int fromX, int toX) {
+        if (fromX == toX) return 0;
+        return Math.atan2(getHeight(toX) - getHeight(fromX), toX - fromX);
+    }
+}
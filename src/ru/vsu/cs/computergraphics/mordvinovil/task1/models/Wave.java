@@ -1,10 +1,18 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
 import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
 
 import java.awt.*;
+import java.awt.geom.GeneralPath;
 
 public class Wave {
+    private static final int CLIP_MARGIN = 16;
+
     private final Mover mover;
     private final int width;
     private final int height;
@@ -13,24 +21,41 @@ public class Wave {
     private final double waveFrequency;
     private final double wavePhase;
 
-    public Wave(int x, int y, int width, int height, int speed) {
+    private final GeneralPath outline = new GeneralPath(GeneralPath.WIND_EVEN_ODD);
+    private boolean outlineValid;
+    private int outlineFromX;
+    private int outlineToX;
+    private final Rectangle clipBounds = new Rectangle();
+
+    public Wave(MoverSystem movers, RandomStream random, int x, int y, int width, int height, int speed) {
         this.width = Math.max(width, 1);
         this.height = height;
-        this.waveColor = new Color(0, 105, 148 + (int) (Math.random() * 40));
-        this.ticksOffset = (int) (Math.random() * 100);
-        this.waveFrequency = 0.02 + Math.random() * 0.01;
-        this.wavePhase = Math.random() * Math.PI * 2;
-        this.mover = new Mover(x, y, speed, 0, height / 2, 0, Mover.MovementType.WAVE);
+        this.waveColor = new Color(0, 105, 148 + (int) (random.nextDouble() * 40));
+        this.ticksOffset = (int) (random.nextDouble() * 100);
+        this.waveFrequency = 0.02 + random.nextDouble() * 0.01;
+        this.wavePhase = random.nextDouble() * Math.PI * 2;
+        this.mover = movers.create(x, y, speed, 0, height / 2, 0, Mover.MovementType.WAVE);
     }
 
-    public Wave(Mover mover, int width, int height) {
+    public Wave(Mover mover, RandomStream random, int width, int height) {
         this.mover = mover;
         this.width = Math.max(width, 1);
         this.height = height;
-        this.waveColor = new Color(0, 105, 148 + (int) (Math.random() * 40));
-        this.ticksOffset = (int) (Math.random() * 100);
-        this.waveFrequency = 0.02 + Math.random() * 0.01;
-        this.wavePhase = Math.random() * Math.PI * 2;
+        this.waveColor = new Color(0, 105, 148 + (int) (random.nextDouble() * 40));
+        this.ticksOffset = (int) (random.nextDouble() * 100);
+        this.waveFrequency = 0.02 + random.nextDouble() * 0.01;
+        this.wavePhase = random.nextDouble() * Math.PI * 2;
+    }
+
+    private Wave(Mover mover, int width, int height, Color waveColor, int ticksOffset, double waveFrequency,
+                 double wavePhase) {
+        this.mover = mover;
+        this.width = width;
+        this.height = height;
+        this.waveColor = waveColor;
+        this.ticksOffset = ticksOffset;
+        this.waveFrequency = waveFrequency;
+        this.wavePhase = wavePhase;
     }
 
     public void setPanelWidth(int panelWidth) {
@@ -41,34 +66,80 @@ public class Wave {
         mover.update(ticks);
     }
 
-    public int getWaveHeightAt(int pointX, int ticks) {
-        double phase = wavePhase + pointX * waveFrequency + (ticks + ticksOffset) * 0.05;
-        return mover.getStartY() - (int) (Math.sin(phase) * height / 2);
+    public void accumulateSurface(int[] heights, int fromX, int columns, int ticks) {
+        double phase = wavePhase + fromX * waveFrequency + (ticks + ticksOffset) * 0.05;
+        double sin = Math.sin(phase);
+        double cos = Math.cos(phase);
+        double stepSin = Math.sin(waveFrequency);
+        double stepCos = Math.cos(waveFrequency);
+        int baseY = mover.getStartY();
+        double halfHeight = height / 2.0;
+
+        for (int i = 0; i < columns; i++) {
+            int waveY = baseY - (int) (sin * halfHeight);
+            if (waveY < heights[i]) {
+                heights[i] = waveY;
+            }
+
+            double nextSin = sin * stepCos + cos * stepSin;
+            cos = cos * stepCos - sin * stepSin;
+            sin = nextSin;
+        }
     }
 
     public void draw(Graphics2D g) {
-        g.setColor(waveColor);
-        int x = mover.getX();
-        int y = mover.getY();
+        draw(g, 1f);
+    }
 
+    public void draw(Graphics2D g, float alpha) {
+        drawAt(g, mover.getInterpolatedX(alpha), mover.getInterpolatedY(alpha));
+    }
+
+    private void drawAt(Graphics2D g, double renderX, double renderY) {
         int waveLength = width * 2;
-        int startX = x - width / 2;
+        int startX = (int) Math.floor(renderX) - width / 2;
+        int fromX = startX - waveLength;
+        int toX = startX + waveLength * 2;
 
-        for (int offset = -waveLength; offset <= waveLength; offset += waveLength) {
-            Polygon wavePolygon = new Polygon();
-            int step = Math.max(3, waveLength / 200);
+        clipBounds.setBounds(0, 0, -1, -1);
+        if (g.getClipBounds(clipBounds).width >= 0) {
+            fromX = Math.max(fromX, clipBounds.x - CLIP_MARGIN);
+            toX = Math.min(toX, clipBounds.x + clipBounds.width + CLIP_MARGIN);
+            if (fromX >= toX) return;
+        }
 
-            for (int i = 0; i <= waveLength; i += step) {
-                int waveX = startX + i + offset;
-                double phase = wavePhase + waveX * waveFrequency + ticksOffset * 0.05;
-                int waveY = y + (int) (Math.sin(phase) * height / 2);
-                wavePolygon.addPoint(waveX, waveY);
-            }
+        if (!outlineValid || fromX < outlineFromX || toX > outlineToX
+            || outlineToX - outlineFromX > (toX - fromX) * 2 + waveLength) {
+            buildOutline(fromX - CLIP_MARGIN, toX + CLIP_MARGIN, Math.max(3, waveLength / 200));
+        }
+
+        RenderContext.setColor(g, waveColor);
+        g.translate(0, renderY);
+        g.fill(outline);
+        g.translate(0, -renderY);
+    }
 
-            wavePolygon.addPoint(startX + waveLength + offset, y + height * 2);
-            wavePolygon.addPoint(startX + offset, y + height * 2);
-            g.fillPolygon(wavePolygon);
+    private void buildOutline(int fromX, int toX, int step) {
+        int firstX = Math.floorDiv(fromX, step) * step;
+        int lastX = Math.floorDiv(toX + step - 1, step) * step;
+
+        outline.reset();
+        for (int waveX = firstX; waveX <= lastX; waveX += step) {
+            double phase = wavePhase + waveX * waveFrequency + ticksOffset * 0.05;
+            int waveY = (int) (Math.sin(phase) * height / 2);
+            if (waveX == firstX) {
+                outline.moveTo(waveX, waveY);
+            } else {
+                outline.lineTo(waveX, waveY);
+            }
         }
+        outline.lineTo(lastX, height * 2);
+        outline.lineTo(firstX, height * 2);
+        outline.closePath();
+
+        this.outlineValid = true;
+        this.outlineFromX = firstX;
+        this.outlineToX = lastX;
     }
 
     public int getX() {
@@ -78,4 +149,28 @@ public class Wave {
     public int getY() {
         return mover.getY();
     }
+
+    public Mover getMover() {
+        return mover;
+    }
+
+    public void write(SceneOutput out, MoverSystem movers) {
+        movers.writeReference(out, mover);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeColor(waveColor);
+        out.writeInt(ticksOffset);
+        out.writeDouble(waveFrequency);
+        out.writeDouble(wavePhase);
+    }
+
+    public static Wave read(SceneInput in, MoverSystem movers) {
+        Mover mover = movers.readReference(in);
+        int width = in.readInt();
+        int height = in.readInt();
+        Color waveColor = in.readColor();
+        int ticksOffset = in.readInt();
+        double waveFrequency = in.readDouble();
+        return new Wave(mover, width, height, waveColor, ticksOffset, waveFrequency, in.readDouble());
+    }
 }
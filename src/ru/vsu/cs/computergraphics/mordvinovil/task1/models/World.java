@@ -1,21 +1,57 @@
 package ru.vsu.cs.computergraphics.mordvinovil.task1.models;
 
+import ru.vsu.cs.computergraphics.mordvinovil.task1.Mover;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.MoverSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.PoissonDiskSampler;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FrameMetrics;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FramePhase;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleSystem;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.particles.ParticleType;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.BackgroundRenderer;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.BandScene;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.Layer;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.LayerCompositor;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.ReflectionBuffer;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntSupplier;
 
-public class World {
+public class World implements BandScene {
     private static final Color SKY_COLOR = new Color(135, 206, 235);
     private static final Color SEA_COLOR = new Color(0, 105, 148);
     private static final Color SAND_COLOR = new Color(194, 178, 128);
-    private static final Color WAVE_REFLECTION_COLOR = new Color(255, 255, 255, 50);
+    private static final Color DIVISION_COLOR =
+        RenderContext.getShared().color(SEA_COLOR.getRed(), SEA_COLOR.getGreen(), SEA_COLOR.getBlue(), 150);
+    private static final Stroke DIVISION_STROKE = RenderContext.getShared().stroke(
+        new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{10, 5}, 0));
+    private static final Stroke DEFAULT_STROKE = RenderContext.getShared().stroke(1);
     private static final float WAVE_REFLECTION_ALPHA = 0.4f;
+    private static final int WAVE_REFLECTION_OFFSET = 4;
     private static final int DEFAULT_WAVE_COUNT = 75;
     private static final int RANDOM_WAVE_COUNT = 5;
     private static final int MIN_SIZE_THRESHOLD = 50;
-    private static final int FISH_SPAWN_ATTEMPTS = 50;
+    private static final int RESIZE_SETTLE_TICKS = 5;
+    private static final int FISH_SPACING = 60;
+    private static final int SEAWEED_SPACING = 25;
+    private static final int CLOUD_SPACING = 90;
+    private static final int PARTICLE_CAPACITY = 4096;
+    private static final String PARALLEL_UPDATE_PROPERTY = "world.parallelUpdate";
+    private static final int SECTION_WORLD = 0x57524C44;
+    private static final int SECTION_SHIP = 0x53484950;
+    private static final int SECTION_BRIDGE = 0x42524447;
+    private static final int SECTION_WAVES = 0x57415645;
+    private static final int SECTION_BIRDS = 0x42495244;
+    private static final int SECTION_CARS = 0x43415253;
+    private static final int SECTION_FISH = 0x46495348;
+    private static final int SECTION_CLOUDS = 0x434C4F44;
 
     private int width;
     private int height;
@@ -23,9 +59,14 @@ public class World {
     private int underwaterLineY;
     private int lastWidth = 0;
     private int lastHeight = 0;
+    private int builtWidth = 0;
+    private int builtHeight = 0;
+    private int resizeSettleTicks = 0;
     private int ticksFromStart = 0;
+    private int populationScale;
 
     private final Sun sun;
+    private final BackgroundRenderer background = new BackgroundRenderer(SKY_COLOR, SEA_COLOR, SAND_COLOR);
     private Bridge bridge;
     private Ship cruiseShip;
     private final List<Wave> waves = new ArrayList<>();
@@ -33,98 +74,359 @@ public class World {
     private final List<Cloud> clouds = new ArrayList<>();
     private final List<Fish> fishes = new ArrayList<>();
     private final List<Car> cars = new ArrayList<>();
-    private final List<Seaweed> seaweeds = new ArrayList<>();
-    private final Random random = new Random();
-
-    private Image underwaterWorldBuffer;
-    private boolean bufferNeedsUpdate = true;
+    private final SeaweedBed seaweeds = new SeaweedBed();
+    private long seed;
+    private final RandomStream random;
+    private final RandomStream samplerRandom;
+    private final MoverSystem movers;
+    private final ParticleSystem particles;
+    private final PoissonDiskSampler sampler;
+    private final WaterSurface waterSurface = new WaterSurface();
+
+    private final LayerCompositor compositor = new LayerCompositor();
+    private final ReflectionBuffer waveReflection = new ReflectionBuffer(WAVE_REFLECTION_ALPHA, WAVE_REFLECTION_OFFSET);
+    private boolean shipReflection = true;
+    private final FrameMetrics metrics = new FrameMetrics();
     private boolean initialized = false;
 
     public World() {
+        this(1);
+    }
+
+    public World(int populationScale) {
+        this(populationScale, System.nanoTime());
+    }
+
+    public World(int populationScale, long seed) {
         this.sun = new Sun(30, 30, 15, Color.ORANGE);
+        this.populationScale = Math.max(populationScale, 1);
+        this.seed = seed;
+        this.random = new RandomStream(seed);
+        this.movers = new MoverSystem(random.split());
+        setParallelUpdate(Boolean.getBoolean(PARALLEL_UPDATE_PROPERTY));
+        this.particles = new ParticleSystem(random.split(), PARTICLE_CAPACITY);
+        this.samplerRandom = random.split();
+        this.sampler = new PoissonDiskSampler(samplerRandom);
+        registerLayers();
+    }
+
+    public long getSeed() {
+        return seed;
     }
 
     public void update(int width, int height) {
+        long updateStart = System.nanoTime();
         this.width = Math.max(width, 1);
         this.height = Math.max(height, 1);
 
         if (!initialized) {
+            long start = System.nanoTime();
             initialize();
             initialized = true;
-            bufferNeedsUpdate = true;
+            metrics.record(FramePhase.UPDATE_INITIALIZE, start);
         } else {
-            boolean sizeChanged = updateDimensions();
-            if (sizeChanged) {
-                bufferNeedsUpdate = true;
-            }
+            long start = System.nanoTime();
+            updateDimensions();
+            metrics.record(FramePhase.UPDATE_RESIZE, start);
         }
 
+        long start = System.nanoTime();
         updateMovingObjects();
+        metrics.record(FramePhase.UPDATE_MOVING_OBJECTS, start);
+
         ticksFromStart++;
+        metrics.record(FramePhase.UPDATE_TOTAL, updateStart);
+    }
+
+    public void write(SceneOutput out) {
+        out.writeSection(SECTION_WORLD, 1);
+        out.writeInt(ticksFromStart);
+        out.writeLong(seed);
+        out.writeInt(populationScale);
+        out.writeBoolean(initialized);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(horizonY);
+        out.writeInt(underwaterLineY);
+        out.writeInt(lastWidth);
+        out.writeInt(lastHeight);
+        out.writeInt(builtWidth);
+        out.writeInt(builtHeight);
+        out.writeInt(resizeSettleTicks);
+        out.writeRandom(random);
+        out.writeRandom(samplerRandom);
+        movers.write(out);
+        particles.write(out);
+
+        out.writeSection(SECTION_SHIP, cruiseShip != null ? 1 : 0);
+        if (cruiseShip != null) {
+            cruiseShip.write(out, movers);
+        }
+        out.writeSection(SECTION_BRIDGE, bridge != null ? 1 : 0);
+        if (bridge != null) {
+            bridge.write(out);
+        }
+        out.writeSection(SECTION_WAVES, waves.size());
+        for (Wave wave : waves) {
+            wave.write(out, movers);
+        }
+        out.writeSection(SECTION_BIRDS, birds.size());
+        for (Bird bird : birds) {
+            bird.write(out, movers);
+        }
+        out.writeSection(SECTION_CARS, cars.size());
+        for (Car car : cars) {
+            car.write(out, movers);
+        }
+        out.writeSection(SECTION_FISH, fishes.size());
+        for (Fish fish : fishes) {
+            fish.write(out, movers);
+        }
+        out.writeSection(SECTION_CLOUDS, clouds.size());
+        for (Cloud cloud : clouds) {
+            cloud.write(out);
+        }
+        seaweeds.write(out);
+    }
+
+    public void read(SceneInput in) {
+        in.readSection(SECTION_WORLD);
+        ticksFromStart = in.readInt();
+        seed = in.readLong();
+        populationScale = in.readInt();
+        initialized = in.readBoolean();
+        width = in.readInt();
+        height = in.readInt();
+        horizonY = in.readInt();
+        underwaterLineY = in.readInt();
+        lastWidth = in.readInt();
+        lastHeight = in.readInt();
+        builtWidth = in.readInt();
+        builtHeight = in.readInt();
+        resizeSettleTicks = in.readInt();
+        in.readRandomInto(random);
+        in.readRandomInto(samplerRandom);
+        movers.read(in);
+        particles.read(in);
+
+        cruiseShip = in.readSection(SECTION_SHIP) > 0 ? Ship.read(in, movers) : null;
+        bridge = in.readSection(SECTION_BRIDGE) > 0 ? Bridge.read(in) : null;
+        waves.clear();
+        for (int i = in.readSection(SECTION_WAVES); i > 0; i--) {
+            waves.add(Wave.read(in, movers));
+        }
+        birds.clear();
+        for (int i = in.readSection(SECTION_BIRDS); i > 0; i--) {
+            birds.add(Bird.read(in, movers));
+        }
+        cars.clear();
+        for (int i = in.readSection(SECTION_CARS); i > 0; i--) {
+            cars.add(Car.read(in, movers));
+        }
+        fishes.clear();
+        for (int i = in.readSection(SECTION_FISH); i > 0; i--) {
+            fishes.add(Fish.read(in, movers));
+        }
+        clouds.clear();
+        for (int i = in.readSection(SECTION_CLOUDS); i > 0; i--) {
+            clouds.add(Cloud.read(in));
+        }
+        seaweeds.read(in);
+
+        sun.setPanelDimensions(width, height);
+        compositor.setResizeDeferred(resizeSettleTicks > 0);
+        compositor.invalidateAll();
+    }
+
+    public void setShipReflection(boolean shipReflection) {
+        this.shipReflection = shipReflection;
+    }
+
+    @Override
+    public FrameMetrics getMetrics() {
+        return metrics;
     }
 
     public void draw(Graphics2D g) {
-        drawBackground(g);
-        drawStaticObjects(g);
-        drawSeaEnvironment(g);
-        drawMovingObjects(g);
-        drawWaveReflections(g);
-        drawUnderwaterDivision(g);
-        drawUnderwaterWorld(g);
+        draw(g, 1f);
+    }
+
+    public void draw(Graphics2D g, float alpha) {
+        long start = System.nanoTime();
+        prepareFrame(g, alpha);
+        compositor.paint(g, alpha);
+        metrics.record(FramePhase.DRAW_TOTAL, start);
+    }
+
+    @Override
+    public void prepareFrame(Graphics2D g, float alpha) {
+        long start = System.nanoTime();
+        compositor.prepare(g, width, height, alpha);
+        metrics.record(FramePhase.DRAW_PREPARE, start);
+    }
+
+    @Override
+    public void drawPrepared(Graphics2D g, float alpha, boolean timeLayers) {
+        compositor.paint(g, alpha, timeLayers);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private void registerLayers() {
+        compositor.add(new WorldLayer(FramePhase.DRAW_BACKGROUND, Layer.Kind.RESIZE, true, null,
+            (g, alpha) -> drawBackground(g)));
+        compositor.add(new WorldLayer(FramePhase.DRAW_STATIC_OBJECTS, Layer.Kind.RESIZE, false, null,
+            (g, alpha) -> drawStaticObjects(g)));
+        compositor.add(new WorldLayer(FramePhase.DRAW_SEA_ENVIRONMENT, Layer.Kind.DYNAMIC, false, null,
+            this::prepareSeaEnvironment, (g, alpha) -> waveReflection.draw(g)));
+        compositor.add(new WorldLayer(FramePhase.DRAW_WAVE_REFLECTIONS, Layer.Kind.DYNAMIC, false, null,
+            this::prepareWaveReflections, this::drawWaveReflections));
+        compositor.add(new WorldLayer(FramePhase.DRAW_MOVING_OBJECTS, Layer.Kind.DYNAMIC, false, null,
+            this::drawMovingObjects));
+        compositor.add(new WorldLayer(FramePhase.DRAW_UNDERWATER_DIVISION, Layer.Kind.RESIZE, false,
+            () -> underwaterLineY - 2, (g, alpha) -> drawUnderwaterDivision(g)));
+        compositor.add(new WorldLayer(FramePhase.DRAW_UNDERWATER_WORLD, Layer.Kind.DYNAMIC, false, null,
+            this::prepareSeaweeds, (g, alpha) -> seaweeds.draw(g)));
+        compositor.add(new WorldLayer(FramePhase.DRAW_UNDERWATER_LIFE, Layer.Kind.DYNAMIC, false, null,
+            this::drawUnderwaterWorld));
+    }
+
+    private interface Painter {
+        void paint(Graphics2D g, float alpha);
+    }
+
+    private final class WorldLayer implements Layer {
+        private final FramePhase phase;
+        private final Kind kind;
+        private final boolean opaque;
+        private final IntSupplier top;
+        private final Painter preparer;
+        private final Painter painter;
+
+        WorldLayer(FramePhase phase, Kind kind, boolean opaque, IntSupplier top, Painter painter) {
+            this(phase, kind, opaque, top, null, painter);
+        }
+
+        WorldLayer(FramePhase phase, Kind kind, boolean opaque, IntSupplier top, Painter preparer, Painter painter) {
+            this.phase = phase;
+            this.kind = kind;
+            this.opaque = opaque;
+            this.top = top;
+            this.preparer = preparer;
+            this.painter = painter;
+        }
+
+        @Override
+        public Kind getKind() {
+            return kind;
+        }
+
+        @Override
+        public boolean isOpaque() {
+            return opaque;
+        }
+
+        @Override
+        public Rectangle getBounds(int width, int height) {
+            int y = top == null ? 0 : Math.max(top.getAsInt(), 0);
+            return new Rectangle(0, y, width, height - y);
+        }
+
+        @Override
+        public void prepare(Graphics2D g, float alpha) {
+            if (preparer != null) {
+                preparer.paint(g, alpha);
+            }
+        }
+
+        @Override
+        public void paint(Graphics2D g, float alpha) {
+            paint(g, alpha, true);
+        }
+
+        @Override
+        public void paint(Graphics2D g, float alpha, boolean timed) {
+            if (!timed) {
+                painter.paint(g, alpha);
+                return;
+            }
+
+            long start = System.nanoTime();
+            painter.paint(g, alpha);
+            metrics.record(phase, start);
+        }
+    }
+
+    public void setParallelUpdate(boolean parallel) {
+        movers.setParallel(parallel ? ForkJoinPool.commonPool() : null);
     }
 
     private void initialize() {
         this.horizonY = (int) (height * 0.25);
         this.underwaterLineY = (int) (height * 0.75);
+        sun.setPanelDimensions(width, height);
         initializeAllEntities();
         lastWidth = width;
         lastHeight = height;
-
-        if (width > 0 && height > 0) {
-            underwaterWorldBuffer = new BufferedImage(width, height - underwaterLineY, BufferedImage.TYPE_INT_ARGB);
-            bufferNeedsUpdate = true;
-        }
+        builtWidth = width;
+        builtHeight = height;
     }
 
-    private boolean updateDimensions() {
-        int oldUnderwaterLineY = underwaterLineY;
-
-        this.horizonY = (int) (height * 0.25);
-        this.underwaterLineY = (int) (height * 0.75);
+    private void updateDimensions() {
+        if (width != lastWidth || height != lastHeight) {
+            this.horizonY = (int) (height * 0.25);
+            this.underwaterLineY = (int) (height * 0.75);
 
-        boolean sizeChanged = hasSizeChangedSignificantly(width, height);
-        updateAllObjectsDimensions(width, height, sizeChanged);
+            rescaleEntities((double) width / lastWidth, (double) height / lastHeight);
+            updateAllObjectsDimensions(width, height);
 
-        if (oldUnderwaterLineY != underwaterLineY || width != lastWidth || height != lastHeight) {
-            bufferNeedsUpdate = true;
+            lastWidth = width;
+            lastHeight = height;
+            resizeSettleTicks = RESIZE_SETTLE_TICKS;
+            compositor.setResizeDeferred(true);
+            return;
         }
 
-        lastWidth = width;
-        lastHeight = height;
+        if (resizeSettleTicks == 0 || --resizeSettleTicks > 0) return;
 
-        return sizeChanged;
+        if (hasSizeChangedSignificantly(width, height)) {
+            initializeSea();
+            initializeSeaweeds();
+            builtWidth = width;
+            builtHeight = height;
+        }
+        compositor.setResizeDeferred(false);
     }
 
     private boolean hasSizeChangedSignificantly(int width, int height) {
-        return Math.abs(width - lastWidth) > MIN_SIZE_THRESHOLD ||
-            Math.abs(height - lastHeight) > MIN_SIZE_THRESHOLD;
+        return Math.abs(width - builtWidth) > MIN_SIZE_THRESHOLD ||
+            Math.abs(height - builtHeight) > MIN_SIZE_THRESHOLD;
     }
 
-    private void updateAllObjectsDimensions(int width, int height, boolean sizeChanged) {
+    private void rescaleEntities(double scaleX, double scaleY) {
+        movers.scale(scaleX, scaleY);
+
+        for (Cloud cloud : clouds) {
+            cloud.setPosition((int) (cloud.getX() * scaleX), (int) (cloud.getY() * scaleY));
+        }
+        seaweeds.scaleX(scaleX);
+    }
+
+    private void updateAllObjectsDimensions(int width, int height) {
         sun.setPanelDimensions(width, height);
 
         if (cruiseShip != null) {
             cruiseShip.setPanelWidth(width);
-            cruiseShip.setY(horizonY + 30);
         }
 
         updateBridgeDimensions(width);
 
-        if (sizeChanged) {
-            initializeSea();
-            initializeSeaweeds();
-        }
-
         updateObjectsWidth(waves, wave -> wave.setPanelWidth(width));
         updateObjectsWidth(birds, bird -> bird.setPanelWidth(width));
         updateObjectsWidth(cars, car -> car.setPanelWidth(width));
@@ -142,6 +444,16 @@ public class World {
         void updateWidth(T obj);
     }
 
+    private <T> void releaseMovers(List<T> objects, MoverAccessor<T> accessor) {
+        for (T obj : objects) {
+            accessor.getMover(obj).release();
+        }
+    }
+
+    private interface MoverAccessor<T> {
+        Mover getMover(T obj);
+    }
+
     private void updateBridgeDimensions(int width) {
         if (bridge != null) {
             bridge.setWidth(width);
@@ -177,7 +489,7 @@ public class World {
     }
 
     private void initializeCruiseShip() {
-        this.cruiseShip = new Ship(75, horizonY + 30, 500, 50,
+        this.cruiseShip = new Ship(movers, random.split(), 75, horizonY + 30, 500, 50,
             Color.BLUE, Color.WHITE, Color.YELLOW, 2);
         cruiseShip.setPanelWidth(width);
     }
@@ -191,17 +503,18 @@ public class World {
     }
 
     private void initializeSea() {
+        releaseMovers(waves, Wave::getMover);
         waves.clear();
 
         if (cruiseShip != null) {
             int waveY = horizonY + 60;
-            Wave mainWave = new Wave(cruiseShip.getX() - width, waveY, width * 3, 25, 2);
+            Wave mainWave = new Wave(movers, random.split(), cruiseShip.getX() - width, waveY, width * 3, 25, 2);
             mainWave.setPanelWidth(width * 3);
             waves.add(mainWave);
             cruiseShip.setY(horizonY + 30);
         }
 
-        int waveCount = DEFAULT_WAVE_COUNT + random.nextInt(RANDOM_WAVE_COUNT);
+        int waveCount = (DEFAULT_WAVE_COUNT + random.nextInt(RANDOM_WAVE_COUNT)) * populationScale;
 
         for (int i = 0; i < waveCount; i++) {
             int waveHeight = 10 + random.nextInt(3);
@@ -214,7 +527,7 @@ public class World {
 
             int yPosition = minWaveY + random.nextInt(Math.max(maxWaveY - minWaveY, 1));
 
-            Wave wave = new Wave(-width, yPosition, width * 3, waveHeight, waveSpeed);
+            Wave wave = new Wave(movers, random.split(), -width, yPosition, width * 3, waveHeight, waveSpeed);
             wave.setPanelWidth(width * 3);
             waves.add(wave);
         }
@@ -222,19 +535,22 @@ public class World {
 
     private void initializeClouds() {
         clouds.clear();
-        int cloudsCount = 4 + random.nextInt(3);
+        int cloudsCount = (4 + random.nextInt(3)) * populationScale;
+
+        int availableWidth = Math.max(width - 20, 100);
+        int availableHeight = Math.max(horizonY - 105, 1);
+        double spacing = PoissonDiskSampler.spacingFor(availableWidth, availableHeight, cloudsCount, CLOUD_SPACING);
+        int placed = sampler.sample(10, 0, availableWidth, availableHeight, spacing, cloudsCount);
 
-        for (int i = 0; i < cloudsCount; i++) {
-            int x = 10 + random.nextInt(Math.max(width - 20, 100));
-            int availableHeight = Math.max(horizonY - 105, 1);
-            int y = random.nextInt(availableHeight);
-            clouds.add(Cloud.createRandom(x, y));
+        for (int i = 0; i < placed; i++) {
+            clouds.add(Cloud.createRandom(random.split(), sampler.getX(i), sampler.getY(i)));
         }
     }
 
     private void initializeBirds() {
+        releaseMovers(birds, Bird::getMover);
         birds.clear();
-        int birdCount = 3 + random.nextInt(4);
+        int birdCount = (3 + random.nextInt(4)) * populationScale;
 
         for (int i = 0; i < birdCount; i++) {
             int startX = random.nextInt(Math.max(width, 100));
@@ -244,19 +560,20 @@ public class World {
             int amplitude = 3 + random.nextInt(4);
             int size = 10 + random.nextInt(6);
 
-            Bird bird = new Bird(startX, baseY, speed, amplitude, size, Color.BLACK);
+            Bird bird = new Bird(movers, startX, baseY, speed, amplitude, size, Color.BLACK);
             bird.setPanelWidth(width);
             birds.add(bird);
         }
     }
 
     private void initializeCars() {
+        releaseMovers(cars, Car::getMover);
         cars.clear();
-        int carCount = 2 + random.nextInt(6);
+        int carCount = (2 + random.nextInt(6)) * populationScale;
 
         for (int i = 0; i < carCount; i++) {
             int carX = -random.nextInt(300) - 100;
-            Car car = Car.createRandom(carX, 0);
+            Car car = Car.createRandom(movers, random.split(), carX, 0);
 
             int carY = bridge.getY() - (car.getType() == Car.CarType.MICROBUS ? 45 : 35);
             car.setY(carY);
@@ -267,141 +584,84 @@ public class World {
     }
 
     private void initializeFish() {
+        releaseMovers(fishes, Fish::getMover);
         fishes.clear();
-        int fishCount = 4 + random.nextInt(3);
-        List<Point> occupiedPositions = new ArrayList<>();
-
-        for (int i = 0; i < fishCount; i++) {
-            Point fishPosition = findValidFishPosition(occupiedPositions);
-            if (fishPosition == null) break;
+        int fishCount = (4 + random.nextInt(3)) * populationScale;
+        int minFishY = underwaterLineY + 40;
+        int maxFishY = height - 60;
+        int xRange = Math.max(width - 100, 60);
+        int yRange = Math.max(maxFishY - minFishY, 40);
+        double spacing = PoissonDiskSampler.spacingFor(xRange, yRange, fishCount, FISH_SPACING);
+        int placed = sampler.sample(50, minFishY, xRange, yRange, spacing, fishCount);
 
+        for (int i = 0; i < placed; i++) {
             int fishWidth = 20 + random.nextInt(8);
             int fishHeight = 6 + random.nextInt(6);
             int speed = 1;
 
-            Fish fish = new Fish(fishPosition.x, fishPosition.y, fishWidth, fishHeight, speed);
+            Fish fish = new Fish(movers, random.split(), sampler.getX(i), sampler.getY(i), fishWidth, fishHeight, speed);
             fish.setPanelWidth(width);
             fish.setPanelHeight(height);
             fish.setHorizonY(horizonY);
 
             fishes.add(fish);
-            occupiedPositions.add(fishPosition);
         }
     }
 
-    private Point findValidFishPosition(List<Point> occupiedPositions) {
-        int minX = 50;
-        int maxX = width - 50;
-        int minFishY = underwaterLineY + 40;
-        int maxFishY = height - 60;
-
-        minFishY = Math.max(minFishY, underwaterLineY + 30);
-        maxFishY = Math.min(maxFishY, height - 50);
-
-        int yRange = Math.max(maxFishY - minFishY, 40);
-
-        for (int attempt = 0; attempt < FISH_SPAWN_ATTEMPTS; attempt++) {
-            int x = minX + random.nextInt(Math.max(maxX - minX, 60));
-            int y = minFishY + random.nextInt(yRange);
-
-            Point candidate = new Point(x, y);
-            if (isPositionValid(candidate, occupiedPositions)) {
-                return candidate;
-            }
-        }
-
-        return null;
-    }
-
-    private boolean isPositionValid(Point candidate, List<Point> occupiedPositions) {
-        int minDistance = 60;
-
-        for (Point occupied : occupiedPositions) {
-            if (candidate.distance(occupied) < minDistance) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private void initializeSeaweeds() {
         seaweeds.clear();
-        int seaweedCount = 8 + random.nextInt(10);
+        int seaweedCount = (8 + random.nextInt(10)) * populationScale;
+
+        double spacing = PoissonDiskSampler.spacingForLine(width, seaweedCount, SEAWEED_SPACING);
+        int placed = sampler.sampleLine(0, width, spacing, seaweedCount);
 
-        for (int i = 0; i < seaweedCount; i++) {
-            int x = random.nextInt(width);
-            int seaweedHeight = 30 + random.nextInt(50);
-            Seaweed seaweed = new Seaweed(x, seaweedHeight);
+        for (int i = 0; i < placed; i++) {
+            Seaweed seaweed = new Seaweed(random.split(), sampler.getX(i), 30 + random.nextInt(50));
             seaweeds.add(seaweed);
         }
-        bufferNeedsUpdate = true;
     }
 
     private void updateMovingObjects() {
-        for (Wave wave : waves) {
-            wave.update(ticksFromStart);
-        }
+        movers.update(Mover.MovementType.WAVE, ticksFromStart);
+        movers.update(Mover.MovementType.LINEAR_X);
+        movers.update(Mover.MovementType.SINUSOIDAL_Y, ticksFromStart);
+        movers.update(Mover.MovementType.FISH_SWIM);
+        waterSurface.update(waves, width, ticksFromStart, underwaterLineY);
 
         if (cruiseShip != null) {
+            cruiseShip.afterMove(particles);
             adjustShipToWaves();
-            cruiseShip.update();
-        }
-
-        for (Bird bird : birds) {
-            bird.update(ticksFromStart);
         }
 
         for (Car car : cars) {
-            car.update();
+            car.afterMove();
         }
 
         for (Fish fish : fishes) {
-            fish.update();
             if (fish.getY() < underwaterLineY + 20) {
                 fish.getMover().setY(underwaterLineY + 20 + random.nextInt(20));
             }
+            fish.afterMove(particles);
         }
+
+        particles.update();
     }
 
     private void adjustShipToWaves() {
         if (cruiseShip == null) return;
 
-        int shipX = cruiseShip.getX() + cruiseShip.getLength() / 2;
-        int lowestWaveY = height;
+        int shipX = cruiseShip.getX();
+        int length = cruiseShip.getLength();
 
-        for (Wave wave : waves) {
-            int waveY = wave.getWaveHeightAt(shipX, ticksFromStart);
-            if (waveY < lowestWaveY) {
-                lowestWaveY = waveY;
-            }
-        }
-
-        cruiseShip.setY(lowestWaveY - 25);
+        cruiseShip.setY(waterSurface.getHeight(shipX + length / 2) - 25);
+        cruiseShip.setPitch(waterSurface.getSlope(shipX + length / 4, shipX + length * 3 / 4));
     }
 
     private void drawBackground(Graphics2D g) {
-        g.setColor(SKY_COLOR);
-        g.fillRect(0, 0, width, horizonY);
-
-        int seaHeight = underwaterLineY - horizonY;
-
-        for (int i = 0; i < seaHeight; i++) {
-            float progress = (float) i / seaHeight;
-            int red = (int) (SEA_COLOR.getRed() * (1 - progress * 0.3));
-            int green = (int) (SEA_COLOR.getGreen() * (1 - progress * 0.3));
-            int blue = (int) (SEA_COLOR.getBlue() * (1 - progress * 0.2));
-
-            red = Math.max(0, Math.min(255, red));
-            green = Math.max(0, Math.min(255, green));
-            blue = Math.max(0, Math.min(255, blue));
-
-            g.setColor(new Color(red, green, blue));
-            g.drawLine(0, horizonY + i, width, horizonY + i);
+        BufferedImage image = background.render(width, height, horizonY, underwaterLineY);
+        if (image != null) {
+            g.drawImage(image, 0, 0, width, height, 0, 0, width, height, null);
         }
-
-        Color deepSeaColor = SEA_COLOR.darker();
-        g.setColor(deepSeaColor);
-        g.fillRect(0, underwaterLineY, width, height - underwaterLineY);
     }
 
     private void drawStaticObjects(Graphics2D g) {
@@ -416,117 +676,66 @@ public class World {
         }
     }
 
-    private void drawSeaEnvironment(Graphics2D g) {
+    private void prepareSeaEnvironment(Graphics2D g, float alpha) {
+        int bandHeight = Math.min(underwaterLineY + 20, height) - horizonY;
+        Graphics2D waveGraphics = waveReflection.begin(g, 0, horizonY, width, bandHeight);
         for (Wave wave : waves) {
-            wave.draw(g);
+            wave.draw(waveGraphics, alpha);
         }
+        waveReflection.end();
+    }
 
-        if (cruiseShip != null) {
-            cruiseShip.draw(g);
+    private void prepareWaveReflections(Graphics2D g, float alpha) {
+        if (shipReflection && cruiseShip != null) {
+            cruiseShip.prepareReflection(g);
         }
     }
 
-    private void drawMovingObjects(Graphics2D g) {
+    private void drawMovingObjects(Graphics2D g, float alpha) {
+        if (cruiseShip != null) {
+            cruiseShip.draw(g, alpha);
+        }
+
+        particles.draw(g, ParticleType.WAKE_FOAM);
+        particles.draw(g, ParticleType.SMOKE);
+
         for (Bird bird : birds) {
             if (bird.getY() < horizonY) {
-                bird.draw(g);
+                bird.draw(g, alpha);
             }
         }
 
         for (Car car : cars) {
-            car.draw(g);
+            car.draw(g, alpha);
         }
     }
 
-    private void drawWaveReflections(Graphics2D g) {
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, WAVE_REFLECTION_ALPHA));
-        g.setColor(WAVE_REFLECTION_COLOR);
+    private void drawWaveReflections(Graphics2D g, float alpha) {
+        waveReflection.drawReflection(g);
 
-        for (int i = 0; i < waves.size() / 2; i++) {
-            Wave wave = waves.get(i);
-            wave.update(ticksFromStart + 10);
-            wave.draw(g);
+        if (shipReflection && cruiseShip != null) {
+            cruiseShip.drawReflection(g, alpha, ticksFromStart);
         }
-
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
     }
 
     private void drawUnderwaterDivision(Graphics2D g) {
-        g.setColor(new Color(SEA_COLOR.getRed(), SEA_COLOR.getGreen(), SEA_COLOR.getBlue(), 150));
-        g.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
-            0, new float[]{10, 5}, 0));
+        RenderContext.setColor(g, DIVISION_COLOR);
+        RenderContext.setStroke(g, DIVISION_STROKE);
         g.drawLine(0, underwaterLineY, width, underwaterLineY);
-        g.setStroke(new BasicStroke(1));
+        RenderContext.setStroke(g, DEFAULT_STROKE);
     }
 
-    private void drawUnderwaterWorld(Graphics2D g) {
-        if (bufferNeedsUpdate && underwaterWorldBuffer != null) {
-            updateUnderwaterWorldBuffer();
-            bufferNeedsUpdate = false;
-        }
-
-        if (underwaterWorldBuffer != null) {
-            g.drawImage(underwaterWorldBuffer, 0, underwaterLineY, null);
-        }
-
+    private void drawUnderwaterWorld(Graphics2D g, float alpha) {
         for (Fish fish : fishes) {
             if (fish.getY() > underwaterLineY) {
-                fish.draw(g);
+                fish.draw(g, alpha);
             }
         }
-    }
-
-    private void updateUnderwaterWorldBuffer() {
-        if (underwaterWorldBuffer == null ||
-            underwaterWorldBuffer.getWidth(null) != width ||
-            underwaterWorldBuffer.getHeight(null) != (height - underwaterLineY)) {
-
-            if (width > 0 && height > underwaterLineY) {
-                underwaterWorldBuffer = new BufferedImage(width, height - underwaterLineY, BufferedImage.TYPE_INT_ARGB);
-            }
-        }
-
-        if (underwaterWorldBuffer == null || width <= 0 || height <= underwaterLineY) {
-            return;
-        }
-
-        Graphics2D bufferGraphics = (Graphics2D) underwaterWorldBuffer.getGraphics();
 
-        bufferGraphics.setComposite(AlphaComposite.Clear);
-        bufferGraphics.fillRect(0, 0, underwaterWorldBuffer.getWidth(null), underwaterWorldBuffer.getHeight(null));
-        bufferGraphics.setComposite(AlphaComposite.SrcOver);
-
-        bufferGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        drawSand(bufferGraphics);
-        drawSeaweeds(bufferGraphics);
-
-        bufferGraphics.dispose();
-    }
-
-    private void drawSand(Graphics2D g) {
-        int bufferHeight = height - underwaterLineY;
-        int sandHeight = Math.min(40, bufferHeight);
-        int sandY = bufferHeight - sandHeight;
-
-        g.setColor(SAND_COLOR);
-        g.fillRect(0, sandY, width, sandHeight);
-
-        g.setColor(SAND_COLOR.brighter());
-        Random sandRandom = new Random(12345);
-        for (int i = 0; i < width; i += 4) {
-            for (int j = sandY; j < bufferHeight; j += 4) {
-                if (sandRandom.nextBoolean()) {
-                    g.fillRect(i, j, 1, 1);
-                }
-            }
-        }
+        particles.draw(g, ParticleType.BUBBLE);
     }
 
-    private void drawSeaweeds(Graphics2D g) {
-        int bufferHeight = height - underwaterLineY;
-        for (Seaweed seaweed : seaweeds) {
-            seaweed.draw(g, bufferHeight);
-        }
+    private void prepareSeaweeds(Graphics2D g, float alpha) {
+        seaweeds.prepare(height - 40, ticksFromStart + alpha);
     }
 }
@@ -0,0 +1,42 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.particles;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+
+public class ParticleEmitter {
+    private final ParticleType type;
+    private final int period;
+    private final int maxBurst;
+    private final RandomStream random;
+    private int timer;
+
+    public ParticleEmitter(ParticleType type, int period, int maxBurst, RandomStream random) {
+        this(type, period, maxBurst, random, random.nextInt(Math.max(period, 1)));
+    }
+
+    public ParticleEmitter(ParticleType type, int period, int maxBurst, RandomStream random, int timer) {
+        this.type = type;
+        this.period = Math.max(period, 1);
+        this.maxBurst = Math.max(maxBurst, 1);
+        this.random = random;
+        this.timer = timer;
+    }
+
+    public int getTimer() {
+        return timer;
+    }
+
+    public RandomStream getRandom() {
+        return random;
+    }
+
+    public void emit(ParticleSystem particles, int x, int y, int spread) {
+        if (++timer < period) return;
+        timer = 0;
+
+        int burst = 1 + random.nextInt(maxBurst);
+        for (int i = 0; i < burst; i++) {
+            int offsetX = spread > 0 ? random.nextInt(spread) - spread / 2 : 0;
+            particles.spawn(type, x + offsetX, y);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.particles;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.render.RenderContext;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneInput;
+import ru.vsu.cs.computergraphics.mordvinovil.task1.scene.SceneOutput;
+
+import java.awt.*;
+
+public class ParticleSystem {
+    private static final int SECTION_POOL = 0x50415254;
+    private static final int PARTICLE_BYTES = 3 * Float.BYTES + 2 * Integer.BYTES;
+
+    private final Pool[] pools = new Pool[ParticleType.values().length];
+    private final RandomStream random;
+
+    public ParticleSystem(RandomStream random, int capacityPerType) {
+        this.random = random;
+        for (ParticleType type : ParticleType.values()) {
+            pools[type.ordinal()] = new Pool(type, capacityPerType);
+        }
+    }
+
+    public void spawn(ParticleType type, float x, float y) {
+        pools[type.ordinal()].spawn(x, y, random);
+    }
+
+    public void update() {
+        for (Pool pool : pools) {
+            pool.update(random);
+        }
+    }
+
+    public void draw(Graphics2D g, ParticleType type) {
+        pools[type.ordinal()].draw(g);
+    }
+
+    public int size(ParticleType type) {
+        return pools[type.ordinal()].count;
+    }
+
+    public void clear() {
+        for (Pool pool : pools) {
+            pool.head = 0;
+            pool.count = 0;
+        }
+    }
+
+    public void write(SceneOutput out) {
+        out.writeRandom(random);
+        for (Pool pool : pools) {
+            pool.write(out);
+        }
+    }
+
+    public void read(SceneInput in) {
+        in.readRandomInto(random);
+        for (Pool pool : pools) {
+            pool.read(in);
+        }
+    }
+
+    private static final class Pool {
+        private final ParticleType type;
+        private final int capacity;
+        private final float[] x;
+        private final float[] y;
+        private final float[] size;
+        private final int[] alpha;
+        private final int[] life;
+        private final Color[] colorsByAlpha = new Color[256];
+        private int head;
+        private int count;
+
+        Pool(ParticleType type, int capacity) {
+            this.type = type;
+            this.capacity = Math.max(capacity, 1);
+            this.x = new float[this.capacity];
+            this.y = new float[this.capacity];
+            this.size = new float[this.capacity];
+            this.alpha = new int[this.capacity];
+            this.life = new int[this.capacity];
+
+            Color color = type.color;
+            for (int a = 0; a < colorsByAlpha.length; a++) {
+                colorsByAlpha[a] = new Color(color.getRed(), color.getGreen(), color.getBlue(), a);
+            }
+        }
+
+        void write(SceneOutput out) {
+            out.writeSection(SECTION_POOL, count);
+            for (int k = 0; k < count; k++) {
+                int i = slot(k);
+                out.writeFloat(x[i]);
+                out.writeFloat(y[i]);
+                out.writeFloat(size[i]);
+                out.writeInt(alpha[i]);
+                out.writeInt(life[i]);
+            }
+        }
+
+        void read(SceneInput in) {
+            int particles = in.readSection(SECTION_POOL, PARTICLE_BYTES);
+            if (particles > capacity) {
+                throw new IllegalStateException(particles + " " + type + " particles exceed the pool capacity " + capacity);
+            }
+            head = 0;
+            count = particles;
+            for (int i = 0; i < count; i++) {
+                x[i] = in.readFloat();
+                y[i] = in.readFloat();
+                size[i] = in.readFloat();
+                alpha[i] = in.readInt();
+                life[i] = in.readInt();
+            }
+        }
+
+        void spawn(float spawnX, float spawnY, RandomStream random) {
+            int i;
+            if (count < capacity) {
+                i = slot(count++);
+            } else {
+                i = head;
+                head = slot(1);
+            }
+
+            x[i] = spawnX;
+            y[i] = spawnY;
+            size[i] = type.minSize + random.nextInt(type.sizeRange);
+            alpha[i] = type.startAlpha;
+            life[i] = type.minLife + random.nextInt(type.lifeRange);
+        }
+
+        void update(RandomStream random) {
+            int jitterRange = type.jitterX * 2 + 1;
+
+            int kept = 0;
+            for (int k = count - 1; k >= 0; k--) {
+                int i = slot(k);
+                y[i] += type.velocityY;
+                x[i] += random.nextInt(jitterRange) - type.jitterX;
+                size[i] += type.growth;
+                life[i]--;
+                alpha[i] = Math.max(0, alpha[i] - type.fade);
+
+                if (life[i] <= 0 || size[i] > type.maxSize || alpha[i] <= type.minAlpha) continue;
+
+                int target = count - 1 - kept;
+                if (target != k) {
+                    moveTo(i, slot(target));
+                }
+                kept++;
+            }
+            head = slot(count - kept);
+            count = kept;
+        }
+
+        private int slot(int age) {
+            int i = head + age;
+            return i < capacity ? i : i - capacity;
+        }
+
+        private void moveTo(int from, int to) {
+            x[to] = x[from];
+            y[to] = y[from];
+            size[to] = size[from];
+            alpha[to] = alpha[from];
+            life[to] = life[from];
+        }
+
+        void draw(Graphics2D g) {
+            for (int k = 0; k < count; k++) {
+                int i = slot(k);
+                RenderContext.setColor(g, colorsByAlpha[alpha[i]]);
+                g.fillOval((int) x[i], (int) y[i], (int) size[i], (int) size[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.particles;
+
+import java.awt.*;
+
+public enum ParticleType {
+    SMOKE(new Color(150, 150, 150), -2f, 1, 0.5f, 5, 25f, 10, 200, 30, 20, 8, 5),
+    WAKE_FOAM(new Color(240, 248, 255), 0f, 1, 0.3f, 8, 12f, 10, 180, 15, 10, 3, 3),
+    BUBBLE(new Color(200, 230, 255), -1f, 1, 0.05f, 3, 6f, 20, 160, 30, 30, 2, 3);
+
+    final Color color;
+    final float velocityY;
+    final int jitterX;
+    final float growth;
+    final int fade;
+    final float maxSize;
+    final int minAlpha;
+    final int startAlpha;
+    final int minLife;
+    final int lifeRange;
+    final int minSize;
+    final int sizeRange;
+
+    ParticleType(Color color, float velocityY, int jitterX, float growth, int fade, float maxSize,
+                 int minAlpha, int startAlpha, int minLife, int lifeRange, int minSize, int sizeRange) {
+        this.color = color;
+        this.velocityY = velocityY;
+        this.jitterX = jitterX;
+        this.growth = growth;
+        this.fade = fade;
+        this.maxSize = maxSize;
+        this.minAlpha = minAlpha;
+        this.startAlpha = startAlpha;
+        this.minLife = minLife;
+        this.lifeRange = lifeRange;
+        this.minSize = minSize;
+        this.sizeRange = sizeRange;
+    }
+}
@@ -0,0 +1,124 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class BackgroundRenderer {
+    private static final int MIN_ROWS_PER_TASK = 64;
+    private static final int SAND_HEIGHT = 40;
+    private static final int SAND_SPECK_STEP = 4;
+
+    private int skyRgb;
+    private int seaRgb;
+    private int deepSeaRgb;
+    private int sandRgb;
+    private int sandSpeckRgb;
+
+    private BufferedImage image;
+    private int[] pixels;
+    private int stride;
+    private boolean dirty = true;
+    private int width;
+    private int height;
+    private int horizonY;
+    private int underwaterLineY;
+
+    public BackgroundRenderer(Color skyColor, Color seaColor, Color sandColor) {
+        setPalette(skyColor, seaColor, sandColor);
+    }
+
+    public void setPalette(Color skyColor, Color seaColor, Color sandColor) {
+        int newSky = skyColor.getRGB();
+        int newSea = seaColor.getRGB();
+        int newSand = sandColor.getRGB();
+        if (image != null && newSky == skyRgb && newSea == seaRgb && newSand == sandRgb) return;
+
+        this.skyRgb = newSky;
+        this.seaRgb = newSea;
+        this.deepSeaRgb = seaColor.darker().getRGB();
+        this.sandRgb = newSand;
+        this.sandSpeckRgb = sandColor.brighter().getRGB();
+        this.dirty = true;
+    }
+
+    public BufferedImage render(int width, int height, int horizonY, int underwaterLineY) {
+        if (width <= 0 || height <= 0) return null;
+
+        if (!ImagePool.fits(image, width, height)) {
+            image = new BufferedImage(ImagePool.roundUp(width), ImagePool.roundUp(height), BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            stride = image.getWidth();
+            dirty = true;
+        }
+
+        if (dirty || width != this.width || height != this.height ||
+            horizonY != this.horizonY || underwaterLineY != this.underwaterLineY) {
+            this.width = width;
+            this.height = height;
+            this.horizonY = horizonY;
+            this.underwaterLineY = underwaterLineY;
+            fill();
+            dirty = false;
+        }
+
+        return image;
+    }
+
+    private void fill() {
+        int tasks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), height / MIN_ROWS_PER_TASK));
+        int rowsPerTask = (height + tasks - 1) / tasks;
+
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            int from = task * rowsPerTask;
+            int to = Math.min(height, from + rowsPerTask);
+            for (int row = from; row < to; row++) {
+                fillRow(row);
+            }
+        });
+    }
+
+    private void fillRow(int row) {
+        int offset = row * stride;
+        int sandY = height - Math.min(SAND_HEIGHT, height - underwaterLineY);
+
+        if (row < horizonY) {
+            Arrays.fill(pixels, offset, offset + width, skyRgb);
+        } else if (row < underwaterLineY) {
+            Arrays.fill(pixels, offset, offset + width, seaGradient(row - horizonY, underwaterLineY - horizonY));
+        } else if (row < sandY) {
+            Arrays.fill(pixels, offset, offset + width, deepSeaRgb);
+        } else {
+            Arrays.fill(pixels, offset, offset + width, sandRgb);
+            if ((row - sandY) % SAND_SPECK_STEP == 0) {
+                for (int x = 0; x < width; x += SAND_SPECK_STEP) {
+                    if ((hash(x, row - sandY) & 1) != 0) {
+                        pixels[offset + x] = sandSpeckRgb;
+                    }
+                }
+            }
+        }
+    }
+
+    private int seaGradient(int i, int seaHeight) {
+        float progress = (float) i / seaHeight;
+        int red = clamp((int) (((seaRgb >> 16) & 0xFF) * (1 - progress * 0.3)));
+        int green = clamp((int) (((seaRgb >> 8) & 0xFF) * (1 - progress * 0.3)));
+        int blue = clamp((int) ((seaRgb & 0xFF) * (1 - progress * 0.2)));
+        return 0xFF000000 | (red << 16) | (green << 8) | blue;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static int hash(int x, int y) {
+        int h = x * 0x27D4EB2D ^ y * 0x165667B1 ^ 12345;
+        h ^= h >>> 15;
+        h *= 0x2C1B3C6D;
+        h ^= h >>> 12;
+        return h;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FramePhase;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class BandRenderer {
+    private static final int MIN_BAND_HEIGHT = 32;
+
+    private final ForkJoinPool pool;
+    private final int bandCount;
+
+    private BufferedImage[] bands = new BufferedImage[0];
+    private int[] bandTops = new int[0];
+    private int[] bandHeights = new int[0];
+    private int width;
+    private int height;
+
+    public BandRenderer(ForkJoinPool pool) {
+        this(pool, pool.getParallelism());
+    }
+
+    public BandRenderer(ForkJoinPool pool, int bandCount) {
+        this.pool = pool;
+        this.bandCount = Math.max(bandCount, 1);
+    }
+
+    public void render(Graphics2D target, int width, int height, float alpha, BandScene scene) {
+        if (width <= 0 || height <= 0) return;
+
+        long start = System.nanoTime();
+        ensureBands(target, width, height);
+        scene.prepareFrame(target, alpha);
+
+        RenderingHints hints = target.getRenderingHints();
+        pool.invoke(new BandTask(scene, hints, alpha, 0, bands.length));
+
+        for (int i = 0; i < bands.length; i++) {
+            int top = bandTops[i];
+            int bottom = bandTops[i] + bandHeights[i];
+            target.drawImage(bands[i], 0, top, width, bottom, 0, 0, width, bandHeights[i], null);
+        }
+        scene.getMetrics().record(FramePhase.DRAW_TOTAL, start);
+    }
+
+    public int getBandCount() {
+        return bands.length;
+    }
+
+    private void ensureBands(Graphics2D target, int width, int height) {
+        if (width == this.width && height == this.height) return;
+
+        int count = Math.max(1, Math.min(bandCount, height / MIN_BAND_HEIGHT));
+        if (count != bands.length) {
+            for (BufferedImage band : bands) {
+                ImagePool.getShared().release(band);
+            }
+            bands = new BufferedImage[count];
+            bandTops = new int[count];
+            bandHeights = new int[count];
+        }
+
+        GraphicsConfiguration configuration = target.getDeviceConfiguration();
+        for (int i = 0; i < count; i++) {
+            int top = height * i / count;
+            int bottom = height * (i + 1) / count;
+            bandTops[i] = top;
+            bandHeights[i] = bottom - top;
+            if (!ImagePool.fits(bands[i], width, bandHeights[i])) {
+                ImagePool.getShared().release(bands[i]);
+                bands[i] = ImagePool.getShared().acquire(configuration, width, bandHeights[i], Transparency.OPAQUE);
+            }
+        }
+
+        this.width = width;
+        this.height = height;
+    }
+
+    private void renderBand(int index, BandScene scene, RenderingHints hints, float alpha) {
+        BufferedImage band = bands[index];
+        int top = bandTops[index];
+
+        Graphics2D g = band.createGraphics();
+        g.setRenderingHints(hints);
+        g.translate(0, -top);
+        g.setClip(0, top, width, bandHeights[index]);
+        scene.drawPrepared(g, alpha, false);
+        g.dispose();
+    }
+
+    private final class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BandScene scene;
+        private final RenderingHints hints;
+        private final float alpha;
+        private final int from;
+        private final int to;
+
+        BandTask(BandScene scene, RenderingHints hints, float alpha, int from, int to) {
+            this.scene = scene;
+            this.hints = hints;
+            this.alpha = alpha;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                renderBand(from, scene, hints, alpha);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BandTask(scene, hints, alpha, from, middle),
+                new BandTask(scene, hints, alpha, middle, to));
+        }
+    }
+}
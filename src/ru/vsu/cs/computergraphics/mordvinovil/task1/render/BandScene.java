@@ -0,0 +1,13 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.metrics.FrameMetrics;
+
+import java.awt.*;
+
+public interface BandScene {
+    void prepareFrame(Graphics2D g, float alpha);
+
+    void drawPrepared(Graphics2D g, float alpha, boolean timeLayers);
+
+    FrameMetrics getMetrics();
+}
@@ -0,0 +1,69 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImagePool {
+    private static final int GRANULARITY = 64;
+    private static final int MAX_WASTE_FACTOR = 2;
+    private static final ImagePool SHARED = new ImagePool(8);
+
+    private final int capacity;
+    private final List<BufferedImage> images = new ArrayList<>();
+
+    public ImagePool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static ImagePool getShared() {
+        return SHARED;
+    }
+
+    public static int roundUp(int size) {
+        return (Math.max(size, 1) + GRANULARITY - 1) / GRANULARITY * GRANULARITY;
+    }
+
+    public static boolean fits(BufferedImage image, int width, int height) {
+        return image != null && image.getWidth() >= width && image.getHeight() >= height;
+    }
+
+    public synchronized BufferedImage acquire(GraphicsConfiguration configuration, int width, int height,
+                                              int transparency) {
+        long requested = (long) width * height;
+        int best = -1;
+        long bestArea = Long.MAX_VALUE;
+
+        for (int i = 0; i < images.size(); i++) {
+            BufferedImage image = images.get(i);
+            long area = (long) image.getWidth() * image.getHeight();
+            if (image.getTransparency() == transparency && fits(image, width, height)
+                && area <= requested * MAX_WASTE_FACTOR + GRANULARITY * GRANULARITY && area < bestArea) {
+                best = i;
+                bestArea = area;
+            }
+        }
+
+        if (best >= 0) {
+            return images.remove(best);
+        }
+        return configuration.createCompatibleImage(roundUp(width), roundUp(height), transparency);
+    }
+
+    public synchronized void release(BufferedImage image) {
+        if (image == null) return;
+
+        images.add(image);
+        if (images.size() > capacity) {
+            images.remove(0).flush();
+        }
+    }
+
+    public synchronized void clear() {
+        for (BufferedImage image : images) {
+            image.flush();
+        }
+        images.clear();
+    }
+}
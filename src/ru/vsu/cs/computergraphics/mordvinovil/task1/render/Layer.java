@@ -0,0 +1,30 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+
+public interface Layer {
+    enum Kind {
+        STATIC,
+        RESIZE,
+        DYNAMIC
+    }
+
+    Kind getKind();
+
+    void paint(Graphics2D g, float alpha);
+
+    default void paint(Graphics2D g, float alpha, boolean timed) {
+        paint(g, alpha);
+    }
+
+    default void prepare(Graphics2D g, float alpha) {
+    }
+
+    default boolean isOpaque() {
+        return false;
+    }
+
+    default Rectangle getBounds(int width, int height) {
+        return new Rectangle(0, 0, width, height);
+    }
+}
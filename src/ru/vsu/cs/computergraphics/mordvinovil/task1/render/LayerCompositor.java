@@ -0,0 +1,214 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LayerCompositor {
+    private final List<Layer> layers = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+    private final ImagePool pool;
+    private boolean stepsValid;
+    private boolean resizeDeferred;
+    private int width;
+    private int height;
+
+    public LayerCompositor() {
+        this(ImagePool.getShared());
+    }
+
+    public LayerCompositor(ImagePool pool) {
+        this.pool = pool;
+    }
+
+    public void add(Layer layer) {
+        layers.add(layer);
+        stepsValid = false;
+    }
+
+    public void invalidate(Layer layer) {
+        for (Step step : steps) {
+            if (step.contains(layer)) {
+                step.dirty = true;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        for (Step step : steps) {
+            step.dirty = true;
+        }
+    }
+
+    public void setResizeDeferred(boolean resizeDeferred) {
+        if (this.resizeDeferred && !resizeDeferred) {
+            for (Step step : steps) {
+                if (step.stale) {
+                    step.dirty = true;
+                }
+            }
+        }
+        this.resizeDeferred = resizeDeferred;
+    }
+
+    public void composite(Graphics2D g, int width, int height, float alpha) {
+        prepare(g, width, height, alpha);
+        paint(g, alpha);
+    }
+
+    public void prepare(Graphics2D g, int width, int height, float alpha) {
+        if (width <= 0 || height <= 0) return;
+
+        if (!stepsValid) {
+            buildSteps();
+        }
+
+        boolean resized = width != this.width || height != this.height;
+        this.width = width;
+        this.height = height;
+
+        for (Step step : steps) {
+            if (step.cached == null) {
+                step.dynamic.prepare(g, alpha);
+                continue;
+            }
+
+            if (resized && step.resizeDirty) {
+                if (resizeDeferred && step.image != null) {
+                    step.stale = true;
+                    step.staleBounds = step.computeBounds(width, height);
+                } else {
+                    step.dirty = true;
+                }
+            }
+            if (step.dirty) {
+                step.rasterize(g, width, height, pool);
+            }
+        }
+    }
+
+    public void paint(Graphics2D g, float alpha) {
+        paint(g, alpha, true);
+    }
+
+    public void paint(Graphics2D g, float alpha, boolean timed) {
+        if (width <= 0 || height <= 0 || !stepsValid) return;
+
+        boolean unclipped = g.getClip() == null;
+        if (unclipped) {
+            g.setClip(0, 0, width, height);
+        }
+
+        for (Step step : steps) {
+            if (step.cached == null) {
+                step.dynamic.paint(g, alpha, timed);
+            } else if (step.image != null) {
+                step.draw(g);
+            }
+        }
+
+        if (unclipped) {
+            g.setClip(null);
+        }
+    }
+
+    private void buildSteps() {
+        steps.clear();
+
+        Step run = null;
+        for (Layer layer : layers) {
+            if (layer.getKind() == Layer.Kind.DYNAMIC) {
+                steps.add(new Step(layer));
+                run = null;
+                continue;
+            }
+
+            if (run == null) {
+                run = new Step(new ArrayList<>(), layer.isOpaque());
+                steps.add(run);
+            }
+            run.cached.add(layer);
+            run.resizeDirty |= layer.getKind() == Layer.Kind.RESIZE;
+        }
+
+        stepsValid = true;
+    }
+
+    private static final class Step {
+        private final Layer dynamic;
+        private final List<Layer> cached;
+        private final boolean opaque;
+        private boolean resizeDirty;
+        private boolean dirty = true;
+        private boolean stale;
+        private BufferedImage image;
+        private Rectangle bounds;
+        private Rectangle staleBounds;
+
+        Step(Layer dynamic) {
+            this.dynamic = dynamic;
+            this.cached = null;
+            this.opaque = false;
+        }
+
+        Step(List<Layer> cached, boolean opaque) {
+            this.dynamic = null;
+            this.cached = cached;
+            this.opaque = opaque;
+        }
+
+        boolean contains(Layer layer) {
+            return layer == dynamic || (cached != null && cached.contains(layer));
+        }
+
+        Rectangle computeBounds(int width, int height) {
+            Rectangle runBounds = null;
+            for (Layer layer : cached) {
+                Rectangle layerBounds = layer.getBounds(width, height);
+                runBounds = runBounds == null ? layerBounds : runBounds.union(layerBounds);
+            }
+            return runBounds.intersection(new Rectangle(0, 0, width, height));
+        }
+
+        void draw(Graphics2D g) {
+            Rectangle target = stale ? staleBounds : bounds;
+            if (target.isEmpty()) return;
+
+            g.drawImage(image, target.x, target.y, target.x + target.width, target.y + target.height,
+                0, 0, bounds.width, bounds.height, null);
+        }
+
+        void rasterize(Graphics2D target, int width, int height, ImagePool pool) {
+            bounds = computeBounds(width, height);
+            dirty = false;
+            stale = false;
+
+            if (bounds.isEmpty()) {
+                pool.release(image);
+                image = null;
+                return;
+            }
+
+            if (!ImagePool.fits(image, bounds.width, bounds.height)) {
+                pool.release(image);
+                image = pool.acquire(target.getDeviceConfiguration(), bounds.width, bounds.height,
+                    opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+            }
+
+            Graphics2D g = image.createGraphics();
+            if (!opaque) {
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, bounds.width, bounds.height);
+                g.setComposite(AlphaComposite.SrcOver);
+            }
+            g.setRenderingHints(target.getRenderingHints());
+            g.translate(-bounds.x, -bounds.y);
+            g.setClip(bounds);
+            for (Layer layer : cached) {
+                layer.paint(g, 1f);
+            }
+            g.dispose();
+        }
+    }
+}
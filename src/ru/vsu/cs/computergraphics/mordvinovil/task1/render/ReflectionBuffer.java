@@ -0,0 +1,68 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+public class ReflectionBuffer {
+    private final AlphaComposite reflectionComposite;
+    private final int offsetY;
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private final Rectangle bounds = new Rectangle();
+
+    public ReflectionBuffer(float reflectionAlpha, int offsetY) {
+        this.reflectionComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, reflectionAlpha);
+        this.offsetY = offsetY;
+    }
+
+    public Graphics2D begin(Graphics2D target, int x, int y, int width, int height) {
+        bounds.setBounds(x, y, Math.max(width, 1), Math.max(height, 1));
+
+        if (!ImagePool.fits(image, bounds.width, bounds.height)) {
+            if (graphics != null) {
+                graphics.dispose();
+            }
+            ImagePool.getShared().release(image);
+            image = ImagePool.getShared().acquire(target.getDeviceConfiguration(), bounds.width, bounds.height,
+                Transparency.TRANSLUCENT);
+            graphics = image.createGraphics();
+            graphics.setRenderingHints(target.getRenderingHints());
+        }
+
+        graphics.setClip(null);
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, bounds.width, bounds.height);
+        graphics.setComposite(AlphaComposite.SrcOver);
+        graphics.translate(-bounds.x, -bounds.y);
+        graphics.setClip(bounds);
+        return graphics;
+    }
+
+    public void end() {
+        graphics.translate(bounds.x, bounds.y);
+    }
+
+    public void draw(Graphics2D target) {
+        if (image == null) return;
+
+        drawRegion(target, bounds.y);
+    }
+
+    public void drawReflection(Graphics2D target) {
+        if (image == null) return;
+
+        Shape clip = target.getClip();
+        Composite composite = target.getComposite();
+        target.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        target.setComposite(reflectionComposite);
+        drawRegion(target, bounds.y + offsetY);
+        target.setComposite(composite);
+        target.setClip(clip);
+    }
+
+    private void drawRegion(Graphics2D target, int y) {
+        target.drawImage(image, bounds.x, y, bounds.x + bounds.width, y + bounds.height,
+            0, 0, bounds.width, bounds.height, null);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RenderContext {
+    private static final RenderContext SHARED = new RenderContext();
+    private static final FontRenderContext GLYPH_CONTEXT = new FontRenderContext(null, true, false);
+
+    private final Map<Integer, Color> colors = new HashMap<>();
+    private final Map<BasicStroke, BasicStroke> strokes = new HashMap<>();
+    private final Map<Font, Font> fonts = new HashMap<>();
+    private final Map<Font, Map<String, GlyphVector>> glyphs = new HashMap<>();
+
+    public static RenderContext getShared() {
+        return SHARED;
+    }
+
+    public Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    public synchronized Color color(int r, int g, int b, int a) {
+        return colors.computeIfAbsent(a << 24 | r << 16 | g << 8 | b, argb -> new Color(argb, true));
+    }
+
+    public BasicStroke stroke(float width) {
+        return stroke(new BasicStroke(width));
+    }
+
+    public synchronized BasicStroke stroke(BasicStroke stroke) {
+        return strokes.computeIfAbsent(stroke, key -> key);
+    }
+
+    public synchronized Font font(String name, int style, int size) {
+        return fonts.computeIfAbsent(new Font(name, style, size), key -> key);
+    }
+
+    public synchronized GlyphVector glyphs(Font font, String text) {
+        return glyphs.computeIfAbsent(font, key -> new HashMap<>())
+            .computeIfAbsent(text, key -> font.createGlyphVector(GLYPH_CONTEXT, key));
+    }
+
+    public static void setColor(Graphics2D g, Color color) {
+        if (g.getPaint() != color) {
+            g.setColor(color);
+        }
+    }
+
+    public static void setPaint(Graphics2D g, Paint paint) {
+        if (g.getPaint() != paint) {
+            g.setPaint(paint);
+        }
+    }
+
+    public static void setStroke(Graphics2D g, Stroke stroke) {
+        if (g.getStroke() != stroke) {
+            g.setStroke(stroke);
+        }
+    }
+
+    public static void setComposite(Graphics2D g, Composite composite) {
+        if (g.getComposite() != composite) {
+            g.setComposite(composite);
+        }
+    }
+
+    public static void setRenderingHint(Graphics2D g, RenderingHints.Key key, Object value) {
+        if (g.getRenderingHint(key) != value) {
+            g.setRenderingHint(key, value);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpriteAtlas {
+    private static final int DEFAULT_PAGE_SIZE = 1024;
+    private static final int PADDING = 1;
+    private static final SpriteAtlas SHARED = new SpriteAtlas(DEFAULT_PAGE_SIZE);
+
+    private final int pageSize;
+    private final Map<String, Sprite> sprites = new HashMap<>();
+    private final List<Page> pages = new ArrayList<>();
+
+    public SpriteAtlas(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public static SpriteAtlas getShared() {
+        return SHARED;
+    }
+
+    public synchronized Sprite get(String key, GraphicsConfiguration configuration, int width, int height,
+                                   int originX, int originY, Painter painter) {
+        Sprite sprite = sprites.get(key);
+        if (sprite != null) return sprite;
+
+        int paddedWidth = width + PADDING * 2;
+        int paddedHeight = height + PADDING * 2;
+        if (paddedWidth > pageSize || paddedHeight > pageSize) {
+            throw new IllegalArgumentException("sprite " + key + " does not fit a " + pageSize + "px page");
+        }
+
+        Point slot = null;
+        Page page = null;
+        for (Page candidate : pages) {
+            slot = candidate.allocate(paddedWidth, paddedHeight);
+            if (slot != null) {
+                page = candidate;
+                break;
+            }
+        }
+        if (slot == null) {
+            page = new Page(configuration.createCompatibleImage(pageSize, pageSize, Transparency.TRANSLUCENT));
+            pages.add(page);
+            slot = page.allocate(paddedWidth, paddedHeight);
+        }
+
+        int x = slot.x + PADDING;
+        int y = slot.y + PADDING;
+        Graphics2D g = page.image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.clipRect(x, y, width, height);
+        g.translate(x + originX, y + originY);
+        painter.paint(g);
+        g.dispose();
+
+        sprite = new Sprite(page.image, x, y, width, height, originX, originY);
+        sprites.put(key, sprite);
+        return sprite;
+    }
+
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    public synchronized int getSpriteCount() {
+        return sprites.size();
+    }
+
+    public synchronized void clear() {
+        sprites.clear();
+        pages.clear();
+    }
+
+    public interface Painter {
+        void paint(Graphics2D g);
+    }
+
+    public static final class Sprite {
+        private final BufferedImage image;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final int originX;
+        private final int originY;
+
+        Sprite(BufferedImage image, int x, int y, int width, int height, int originX, int originY) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.originX = originX;
+            this.originY = originY;
+        }
+
+        public void draw(Graphics2D g, int anchorX, int anchorY) {
+            int left = anchorX - originX;
+            int top = anchorY - originY;
+            g.drawImage(image, left, top, left + width, top + height, x, y, x + width, y + height, null);
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    private static final class Page {
+        private final BufferedImage image;
+        private final List<int[]> shelves = new ArrayList<>();
+        private int nextShelfY;
+
+        Page(BufferedImage image) {
+            this.image = image;
+        }
+
+        Point allocate(int width, int height) {
+            for (int[] shelf : shelves) {
+                int shelfY = shelf[0];
+                int shelfHeight = shelf[1];
+                int usedWidth = shelf[2];
+                if (height <= shelfHeight && height * 2 > shelfHeight && usedWidth + width <= image.getWidth()) {
+                    shelf[2] += width;
+                    return new Point(usedWidth, shelfY);
+                }
+            }
+
+            if (nextShelfY + height > image.getHeight()) return null;
+
+            shelves.add(new int[]{nextShelfY, height, width});
+            Point slot = new Point(0, nextShelfY);
+            nextShelfY += height;
+            return slot;
+        }
+    }
+}
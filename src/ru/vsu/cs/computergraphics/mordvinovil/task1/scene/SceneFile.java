@@ -0,0 +1,68 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.scene;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.models.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public final class SceneFile {
+    public static final int MAGIC = 0x4E435353;
+    public static final int VERSION = 2;
+
+    private SceneFile() {
+    }
+
+    public static ByteBuffer checkpoint(World world) {
+        SceneOutput out = new SceneOutput();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        world.write(out);
+        return out.toBuffer();
+    }
+
+    public static void restore(World world, ByteBuffer buffer) throws IOException {
+        // A corrupt buffer can fail halfway through World.read, so decode it into a scratch world first.
+        read(new World(), buffer);
+        read(world, buffer);
+    }
+
+    private static void read(World world, ByteBuffer buffer) throws IOException {
+        SceneInput in = new SceneInput(buffer.duplicate());
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a scene file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported scene version " + version + ", expected " + VERSION);
+            }
+            world.read(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Scene file is truncated", e);
+        } catch (IllegalStateException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Scene file is corrupt: " + e.getMessage(), e);
+        }
+    }
+
+    public static void save(World world, File file) throws IOException {
+        ByteBuffer buffer = checkpoint(world);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public static World load(File file) throws IOException {
+        World world = new World();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            read(world, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        return world;
+    }
+}
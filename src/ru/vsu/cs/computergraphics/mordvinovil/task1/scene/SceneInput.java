@@ -0,0 +1,97 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.scene;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class SceneInput {
+    public static final int RANDOM_BYTES = 4 * Long.BYTES;
+
+    private final ByteBuffer buffer;
+    private final long[] randomState = new long[RANDOM_BYTES / Long.BYTES];
+
+    public SceneInput(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int readSection(int tag) {
+        return readSection(tag, 1);
+    }
+
+    public int readSection(int tag, int elementBytes) {
+        int actual = readInt();
+        if (actual != tag) {
+            throw new IllegalStateException(String.format("Expected scene section %08x, found %08x", tag, actual));
+        }
+        return readCount(elementBytes);
+    }
+
+    public int readCount(int elementBytes) {
+        int count = readInt();
+        if (count < 0 || count > buffer.remaining() / elementBytes) {
+            throw new IllegalStateException("Count " + count + " of " + elementBytes
+                + "-byte elements does not fit in the remaining " + buffer.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public float readFloat() {
+        return buffer.getFloat();
+    }
+
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public Color readColor() {
+        return new Color(readInt(), true);
+    }
+
+    public RandomStream readRandom() {
+        RandomStream random = new RandomStream(0);
+        readRandomInto(random);
+        return random;
+    }
+
+    public void readRandomInto(RandomStream random) {
+        for (int i = 0; i < randomState.length; i++) {
+            randomState[i] = readLong();
+        }
+        random.setState(randomState);
+    }
+
+    public void readInts(int[] values, int count) {
+        buffer.asIntBuffer().get(values, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    public void readFloats(float[] values, int count) {
+        buffer.asFloatBuffer().get(values, 0, count);
+        buffer.position(buffer.position() + count * Float.BYTES);
+    }
+
+    public void readDoubles(double[] values, int count) {
+        buffer.asDoubleBuffer().get(values, 0, count);
+        buffer.position(buffer.position() + count * Double.BYTES);
+    }
+
+    public void readBooleans(boolean[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = buffer.get() != 0;
+        }
+    }
+}
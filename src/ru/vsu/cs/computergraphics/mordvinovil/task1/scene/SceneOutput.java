@@ -0,0 +1,97 @@
+package ru.vsu.cs.computergraphics.mordvinovil.task1.scene;
+
+import ru.vsu.cs.computergraphics.mordvinovil.task1.RandomStream;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class SceneOutput {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+    public void writeSection(int tag, int count) {
+        writeInt(tag);
+        writeInt(count);
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void writeFloat(float value) {
+        ensureCapacity(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    public void writeDouble(double value) {
+        ensureCapacity(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    public void writeBoolean(boolean value) {
+        ensureCapacity(1);
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    public void writeColor(Color color) {
+        writeInt(color.getRGB());
+    }
+
+    public void writeRandom(RandomStream random) {
+        for (long word : random.getState()) {
+            writeLong(word);
+        }
+    }
+
+    public void writeInts(int[] values, int count) {
+        ensureCapacity(count * Integer.BYTES);
+        buffer.asIntBuffer().put(values, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    public void writeFloats(float[] values, int count) {
+        ensureCapacity(count * Float.BYTES);
+        buffer.asFloatBuffer().put(values, 0, count);
+        buffer.position(buffer.position() + count * Float.BYTES);
+    }
+
+    public void writeDoubles(double[] values, int count) {
+        ensureCapacity(count * Double.BYTES);
+        buffer.asDoubleBuffer().put(values, 0, count);
+        buffer.position(buffer.position() + count * Double.BYTES);
+    }
+
+    public void writeBooleans(boolean[] values, int count) {
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            buffer.put((byte) (values[i] ? 1 : 0));
+        }
+    }
+
+    public ByteBuffer toBuffer() {
+        ByteBuffer result = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        result.flip();
+        return result;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < bytes) {
+            capacity *= 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}